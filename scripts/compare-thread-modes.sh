@@ -0,0 +1,29 @@
+#!/usr/bin/env sh
+# Compare platform threads and virtual threads under high concurrency.
+#
+# Start two instances on the same database, built with -Pvirtual-threads (JDK 21):
+#   java -jar target/brief-saas-*.jar --server.port=8080
+#   java -jar target/brief-saas-*.jar --server.port=8081 --spring.threads.virtual.enabled=true
+# then run:
+#   TOKEN=<jwt> BRIEF_UUID=<public uuid> ./scripts/compare-thread-modes.sh
+#
+# Requires `hey` (https://github.com/rakyll/hey).
+set -eu
+
+PLATFORM_URL=${PLATFORM_URL:-http://localhost:8080}
+VIRTUAL_URL=${VIRTUAL_URL:-http://localhost:8081}
+CONCURRENCY=${CONCURRENCY:-800}
+DURATION=${DURATION:-30s}
+
+run() {
+  label=$1; url=$2; shift 2
+  echo "== $label: $url (c=$CONCURRENCY, $DURATION)"
+  hey -z "$DURATION" -c "$CONCURRENCY" "$@" "$url" \
+    | grep -E "Requests/sec|Slowest|Average|99%|Status code|\[[0-9]{3}\]"
+}
+
+for mode in platform virtual; do
+  if [ "$mode" = platform ]; then base=$PLATFORM_URL; else base=$VIRTUAL_URL; fi
+  run "$mode /briefs" "$base/briefs?page=0&size=10" -H "Authorization: Bearer ${TOKEN:?TOKEN is required}"
+  run "$mode /briefs/public" "$base/briefs/public/${BRIEF_UUID:?BRIEF_UUID is required}"
+done
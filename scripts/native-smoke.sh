@@ -0,0 +1,65 @@
+#!/usr/bin/env sh
+# Compare the JVM jar and the GraalVM native binary: time to first response,
+# resident memory, then a smoke pass over the main flows.
+#
+# Build both artifacts first:
+#   mvn -B -DskipTests package                 # target/brief-saas-*.jar
+#   mvn -B -Pnative -DskipTests native:compile # target/brief-saas
+# then, with the prod environment exported (DB_URL, JWT_SECRET, SMTP_*, ...):
+#   SMOKE_EMAIL=<verified account> SMOKE_PASSWORD=<password> ./scripts/native-smoke.sh
+#
+# The account must be able to create briefs (active plan or free quota left).
+set -eu
+
+PORT=${PORT:-8090}
+BASE=http://localhost:$PORT
+JAR=$(ls target/brief-saas-*.jar | grep -v plain | head -n 1)
+NATIVE=${NATIVE:-target/brief-saas}
+: "${SMOKE_EMAIL:?SMOKE_EMAIL is required}"
+: "${SMOKE_PASSWORD:?SMOKE_PASSWORD is required}"
+
+now_ms() { date +%s%3N; }
+
+json_field() { sed -n "s/.*\"$1\":\"\{0,1\}\([^\",}]*\).*/\1/p" | head -n 1; }
+
+smoke() {
+  token=$(curl -sf -H 'Content-Type: application/json' \
+    -d "{\"email\":\"$SMOKE_EMAIL\",\"password\":\"$SMOKE_PASSWORD\"}" "$BASE/auth/login" | json_field token)
+  auth="Authorization: Bearer $token"
+  curl -sf -H "$auth" "$BASE/me" > /dev/null
+  client_id=$(curl -sf -H "$auth" -H 'Content-Type: application/json' \
+    -d '{"name":"Smoke client","email":"smoke-client@example.com"}' "$BASE/clients" | json_field id)
+  brief=$(curl -sf -H "$auth" -H 'Content-Type: application/json' \
+    -d "{\"title\":\"Smoke brief\",\"description\":\"native smoke\",\"objectives\":[\"a\",\"b\"],\"deliverables\":[\"c\"],\"clientId\":$client_id}" \
+    "$BASE/briefs")
+  brief_id=$(echo "$brief" | json_field id)
+  uuid=$(echo "$brief" | json_field publicUuid)
+  curl -sf -H "$auth" "$BASE/briefs?page=0&size=10" > /dev/null
+  curl -sf -H "$auth" "$BASE/briefs/$brief_id/pdf" | head -c 4 | grep -q '%PDF'
+  curl -sf "$BASE/briefs/public/$uuid" > /dev/null
+  curl -sf -X DELETE -H "$auth" "$BASE/briefs/$brief_id" > /dev/null
+  curl -sf -X DELETE -H "$auth" "$BASE/clients/$client_id" > /dev/null
+}
+
+measure() {
+  label=$1; shift
+  start=$(now_ms)
+  "$@" --spring.profiles.active=prod --server.port="$PORT" > "target/smoke-$label.log" 2>&1 &
+  pid=$!
+  # /auth/verify est public : la première réponse, même en erreur, date le démarrage
+  until curl -s -o /dev/null "$BASE/auth/verify?token=smoke"; do
+    kill -0 "$pid" 2> /dev/null || { echo "$label exited, see target/smoke-$label.log"; exit 1; }
+    sleep 0.05
+  done
+  first=$(( $(now_ms) - start ))
+  rss_start=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+  if smoke; then result=ok; else result=FAILED; fi
+  rss_after=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+  kill "$pid"; wait "$pid" 2> /dev/null || true
+  printf '%-8s %10s ms %10s MB %10s MB  %s\n' "$label" "$first" \
+    $((rss_start / 1024)) $((rss_after / 1024)) "$result"
+}
+
+printf '%-8s %13s %13s %13s  %s\n' mode first-resp rss-ready rss-smoke smoke
+measure jvm java -jar "$JAR"
+measure native "./$NATIVE"
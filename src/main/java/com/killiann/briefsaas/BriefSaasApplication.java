@@ -1,13 +1,22 @@
 package com.killiann.briefsaas;
 
+import com.killiann.briefsaas.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class BriefSaasApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(BriefSaasApplication.class, args);
+		SpringApplication application = new SpringApplication(BriefSaasApplication.class);
+		// Étapes de démarrage conservées pour StartupTimelineReporter
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,142 @@
+package com.killiann.briefsaas.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Migration des objectifs / livrables : des anciennes tables de collection
+ * (brief_objectives, brief_deliverables) vers les colonnes tableau de briefs.
+ *
+ * <p>Par lots de briefs, une transaction par lot : copie dans la colonne (si elle est encore
+ * vide), puis suppression des lignes copiées. Reprend là où elle s'est arrêtée ; une fois
+ * une table vidée, elle est supprimée (sa clé étrangère bloquerait la suppression des briefs).
+ *
+ * <p>Exécutée une fois tous les singletons créés (schéma Hibernate à jour), avant le démarrage du serveur web :
+ * aucune requête ne voit un brief non migré, qu'elle lirait comme des listes vides puis écraserait
+ * avec {@code {}} (non null, donc ignoré par la copie) avant que ses anciennes lignes soient supprimées.
+ *
+ * <p>Plusieurs instances peuvent démarrer ensemble : chaque transaction prend un verrou consultatif
+ * PostgreSQL et revérifie que la table existe encore avant d'y toucher.
+ */
+@Component
+@ConditionalOnProperty(name = "app.brief-lists.backfill", havingValue = "true", matchIfMissing = true)
+public class BriefListsBackfill implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(BriefListsBackfill.class);
+    private static final int CHUNK_SIZE = 500;
+    private static final long ADVISORY_LOCK_KEY = 0x4252_4945_464c_5354L;
+
+    // Table de collection héritée -> colonne (même nom dans les deux)
+    private static final Map<String, String> LEGACY_TABLES = Map.of(
+            "brief_objectives", "objectives",
+            "brief_deliverables", "deliverables"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private Boolean postgres;
+
+    public BriefListsBackfill(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        LEGACY_TABLES.forEach((table, column) -> {
+            if (!tableExists(table)) {
+                return;
+            }
+            long briefs = 0;
+            int migrated;
+            while ((migrated = transactionTemplate.execute(status -> lockAndCheck(table) ? backfillChunk(table, column) : 0)) > 0) {
+                briefs += migrated;
+            }
+            boolean dropped = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (!lockAndCheck(table)) {
+                    return false;
+                }
+                jdbcTemplate.execute("drop table if exists " + table);
+                return true;
+            }));
+            log.info("Brief lists backfill: {} briefs copied from {} into briefs.{}{}", briefs, table, column,
+                    dropped ? ", table dropped" : "");
+        });
+    }
+
+    private int backfillChunk(String table, String column) {
+        List<Long> briefIds = jdbcTemplate.queryForList(
+                "select distinct brief_id from " + table + " order by brief_id limit ?", Long.class, CHUNK_SIZE);
+        if (briefIds.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource ids = new MapSqlParameterSource("ids", briefIds);
+
+        Map<Long, List<String>> values = new LinkedHashMap<>();
+        namedJdbcTemplate.query("select brief_id, " + column + " from " + table + " where brief_id in (:ids)", ids,
+                rs -> {
+                    values.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2));
+                });
+
+        // "is null" : une liste déjà réécrite par la nouvelle version n'est pas écrasée
+        List<Map.Entry<Long, List<String>>> entries = new ArrayList<>(values.entrySet());
+        jdbcTemplate.batchUpdate("update briefs set " + column + " = ? where id = ? and " + column + " is null",
+                entries, entries.size(), (ps, entry) -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("varchar", entry.getValue().toArray()));
+                    ps.setLong(2, entry.getKey());
+                });
+
+        namedJdbcTemplate.update("delete from " + table + " where brief_id in (:ids)", ids);
+        return briefIds.size();
+    }
+
+    // Verrou consultatif libéré à la fin de la transaction ; la table a pu être supprimée par une autre instance entre-temps
+    private boolean lockAndCheck(String table) {
+        if (isPostgres()) {
+            jdbcTemplate.execute("select pg_advisory_xact_lock(" + ADVISORY_LOCK_KEY + ")");
+        }
+        return tableExists(table);
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return Boolean.TRUE.equals(postgres);
+    }
+
+    // PostgreSQL stocke les noms en minuscules, H2 en majuscules
+    private boolean tableExists(String table) {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String name : List.of(table, table.toUpperCase())) {
+                try (ResultSet tables = metaData.getTables(null, null, name, new String[]{"TABLE"})) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+}
@@ -3,7 +3,10 @@ package com.killiann.briefsaas.config;
 import com.killiann.briefsaas.entity.User;
 import com.killiann.briefsaas.exception.NotFoundException;
 import com.killiann.briefsaas.repository.UserRepository;
+import com.killiann.briefsaas.service.SessionRevocationService;
 import com.killiann.briefsaas.util.JwtUtil;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,6 +28,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
+    private final ObservationRegistry observationRegistry;
+    private final SessionRevocationService sessionRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -39,13 +44,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        String token = authHeader.substring(7);
-        String email = jwtUtil.extractEmail(token);
+        // Observe uniquement l'authentification, pas le reste de la chaîne
+        Observation observation = Observation.createNotStarted("security.jwt.filter", observationRegistry)
+                .lowCardinalityKeyValue("outcome", "rejected")
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            observation.lowCardinalityKeyValue("outcome", authenticate(request, authHeader.substring(7)));
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+
+        filterChain.doFilter(request, response);
+    }
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            User user = userRepository.findByEmail(email).orElse(null);
+    private String authenticate(HttpServletRequest request, String token) {
+        JwtUtil.AccessClaims claims = jwtUtil.parseAccessToken(token);
 
-            if (user != null && jwtUtil.isTokenValid(token)) {
+        if (claims != null && claims.email() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Vérification en mémoire : aucune requête par appel pour la révocation
+            if (claims.sessionId() != null && sessionRevocationService.isRevoked(claims.sessionId())) {
+                return "revoked";
+            }
+
+            User user = userRepository.findByEmail(claims.email()).orElse(null);
+
+            if (user != null && !user.isDeleted()) {
                 // Expiration de l'abonnement ?
                 if (user.isCancelAtPeriodEnd() && user.getSubscriptionEndAt() != null &&
                         Instant.now().isAfter(user.getSubscriptionEndAt())) {
@@ -62,9 +88,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                return "authenticated";
             }
         }
 
-        filterChain.doFilter(request, response);
+        return "rejected";
     }
 }
\ No newline at end of file
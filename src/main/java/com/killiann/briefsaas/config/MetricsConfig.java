@@ -0,0 +1,76 @@
+package com.killiann.briefsaas.config;
+
+import com.killiann.briefsaas.service.BriefAutosaveService;
+import com.killiann.briefsaas.service.PasswordHashingService;
+import com.killiann.briefsaas.service.SessionRevocationService;
+import com.killiann.briefsaas.util.RateLimiter;
+import com.killiann.briefsaas.util.StripedTokenBucketRateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jauges des composants internes. Requêtes HTTP, pool Hikari et statistiques Hibernate
+ * (dont le cache de second niveau) sont exposés par l'auto-configuration Actuator.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordHashingService service) {
+        return registry -> {
+            Gauge.builder("password.hash.active", service, PasswordHashingService::getActiveCount)
+                    .register(registry);
+            Gauge.builder("password.hash.queued", service, PasswordHashingService::getQueueSize)
+                    .register(registry);
+            FunctionCounter.builder("password.hash.completed", service, PasswordHashingService::getCompletedTaskCount)
+                    .register(registry);
+            // File pleine ou délai dépassé (503)
+            FunctionCounter.builder("password.hash.rejected", service, PasswordHashingService::getRejectedCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimiterMetrics(RateLimiter rateLimiter) {
+        return registry -> {
+            if (rateLimiter instanceof StripedTokenBucketRateLimiter local) {
+                Gauge.builder("rate.limiter.buckets", local, StripedTokenBucketRateLimiter::size)
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder sessionRevocationMetrics(SessionRevocationService service) {
+        return registry -> Gauge.builder("auth.sessions.revoked", service, SessionRevocationService::size)
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder autosaveMetrics(BriefAutosaveService service) {
+        return registry -> Gauge.builder("brief.autosave.pending", service, BriefAutosaveService::size)
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder replicaMetrics(ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        return registry -> replicaLagMonitor.ifAvailable(monitor -> {
+            Gauge.builder("db.replica.lag", monitor, ReplicaLagMonitor::getLagMillis)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("db.replica.usable", monitor, m -> m.isReplicaUsable() ? 1 : 0)
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder virtualThreadMetrics(ObjectProvider<VirtualThreadDiagnostics> diagnostics) {
+        return registry -> diagnostics.ifAvailable(d ->
+                FunctionCounter.builder("jvm.threads.virtual.pinned", d, VirtualThreadDiagnostics::getPinnedEvents)
+                        .register(registry));
+    }
+}
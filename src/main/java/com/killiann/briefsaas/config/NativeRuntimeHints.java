@@ -0,0 +1,86 @@
+package com.killiann.briefsaas.config;
+
+import com.killiann.briefsaas.dto.*;
+import com.killiann.briefsaas.entity.*;
+import com.killiann.briefsaas.service.BriefArchiveService;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Métadonnées de réflexion et de ressources pour l'image native (profil Maven {@code native}).
+ * Spring AOT couvre les beans et les signatures des contrôleurs ; ce qui est chargé par nom
+ * (jjwt, Caffeine, modèles Stripe / Google) ou lu comme ressource est déclaré ici.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final MemberCategory[] ALL_MEMBERS = {
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_DECLARED_METHODS,
+            MemberCategory.DECLARED_FIELDS
+    };
+
+    private static final List<Class<?>> APPLICATION_TYPES = List.of(
+            AccountPurge.class, ArchivedBrief.class, AttachmentUpload.class, Brief.class, BriefAttachment.class, BriefRevision.class,
+            BriefStatus.class, Client.class, EmailVerificationToken.class, RefreshToken.class, RevokedSession.class, Role.class, User.class,
+            AttachmentDto.class, AttachmentUploadRequest.class, AttachmentUploadResponse.class,
+            AuthResponse.class, BriefRequest.class, BriefResponse.class, BriefRevisionContent.class,
+            BriefRevisionDiff.class, BriefRevisionDiff.Change.class, BriefRevisionResponse.class, BriefRevisionSummary.class,
+            BriefSummary.class, BriefUpdateRequest.class,
+            ClientDto.class, ClientValidationRequest.class, LoginRequest.class, PublicBriefResponse.class,
+            RefreshRequest.class, SignupRequest.class, UpdateProfileRequest.class, UserResponse.class,
+            BriefArchiveService.ColdContent.class
+    );
+
+    // Chargés par nom (runtime scope ou fournisseurs de services)
+    private static final List<String> REFLECTIVE_TYPE_NAMES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer",
+            "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+            "com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator",
+            "com.google.api.client.googleapis.auth.oauth2.GoogleIdToken$Payload",
+            "com.google.api.client.json.webtoken.JsonWebSignature$Header",
+            "com.google.api.client.json.webtoken.JsonWebToken$Payload",
+            "com.google.api.client.json.webtoken.JsonWebToken$Header",
+            "com.stripe.model.Event",
+            "com.stripe.model.Event$Data",
+            "com.stripe.model.Event$Request",
+            "com.stripe.model.EventData",
+            "com.stripe.model.Subscription",
+            "com.stripe.model.SubscriptionItem",
+            "com.stripe.model.SubscriptionItemCollection",
+            "com.stripe.model.Price",
+            "com.stripe.model.checkout.Session",
+            "com.stripe.model.billingportal.Session"
+    );
+
+    private static final List<String> RESOURCE_PATTERNS = List.of(
+            "i18n/messages_*.properties",
+            "disposable_domains.txt",
+            "disposable_domains.bin",
+            "images/*.png",
+            "application.conf",
+            "reference.conf",
+            "com/itextpdf/io/font/afm/*.afm",
+            "com/itextpdf/io/font/AdobeGlyphList.txt",
+            "META-INF/services/io.jsonwebtoken.*"
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        APPLICATION_TYPES.forEach(type -> hints.reflection().registerType(type, ALL_MEMBERS));
+        REFLECTIVE_TYPE_NAMES.forEach(name -> hints.reflection().registerType(TypeReference.of(name), ALL_MEMBERS));
+        RESOURCE_PATTERNS.forEach(pattern -> hints.resources().registerPattern(pattern));
+        hints.resources().registerResourceBundle("i18n/messages");
+    }
+}
@@ -0,0 +1,55 @@
+package com.killiann.briefsaas.config;
+
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.net.HttpURLConnectionClient;
+import com.stripe.net.StripeRequest;
+import com.stripe.net.StripeResponseStream;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.util.regex.Pattern;
+
+/**
+ * Client HTTP Stripe qui ouvre une observation (span + timer "stripe.api") par appel au SDK :
+ * request() délègue à requestStream(), seule méthode instrumentée (une tentative = un span).
+ * Les identifiants Stripe (cus_..., sub_..., cs_...) sont retirés du chemin pour garder
+ * une cardinalité de tags bornée.
+ */
+public class ObservedStripeHttpClient extends HttpURLConnectionClient {
+
+    private static final Pattern STRIPE_ID = Pattern.compile("/[a-z]+_(?:[a-z]+_)?[A-Za-z0-9]*[A-Z0-9][A-Za-z0-9]*(?=/|$)");
+
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedStripeHttpClient(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public StripeResponseStream requestStream(StripeRequest request) throws ApiConnectionException {
+        Observation observation = start(request);
+        try (Observation.Scope scope = observation.openScope()) {
+            StripeResponseStream response = super.requestStream(request);
+            observation.lowCardinalityKeyValue("status", String.valueOf(response.code()));
+            return response;
+        } catch (ApiConnectionException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private Observation start(StripeRequest request) {
+        return Observation.createNotStarted("stripe.api", observationRegistry)
+                .contextualName("stripe " + request.method() + " " + pathTemplate(request.url().getPath()))
+                .lowCardinalityKeyValue("method", request.method().name())
+                .lowCardinalityKeyValue("path", pathTemplate(request.url().getPath()))
+                .lowCardinalityKeyValue("status", "none")
+                .start();
+    }
+
+    static String pathTemplate(String path) {
+        return STRIPE_ID.matcher(path).replaceAll("/{id}");
+    }
+}
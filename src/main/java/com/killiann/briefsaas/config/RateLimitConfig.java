@@ -0,0 +1,25 @@
+package com.killiann.briefsaas.config;
+
+import com.killiann.briefsaas.util.RateLimiter;
+import com.killiann.briefsaas.util.StripedTokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Value("${app.rate-limit.stripes:64}")
+    private int stripes;
+
+    @Value("${app.rate-limit.max-buckets:100000}")
+    private int maxBuckets;
+
+    // Un bean RateLimiter adossé à un store partagé remplace l'implémentation locale
+    @Bean
+    @ConditionalOnMissingBean(RateLimiter.class)
+    public RateLimiter rateLimiter() {
+        return new StripedTokenBucketRateLimiter(stripes, maxBuckets);
+    }
+}
@@ -0,0 +1,184 @@
+package com.killiann.briefsaas.config;
+
+import com.killiann.briefsaas.util.JwtUtil;
+import com.killiann.briefsaas.util.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Limite le débit avant l'authentification JWT : par IP sur les routes publiques et
+ * d'authentification, par brief public sur la validation par code, par utilisateur ailleurs.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Duration MINUTE = Duration.ofMinutes(1);
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    private final RateLimiter rateLimiter;
+    private final JwtUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    // X-Forwarded-For lu seulement derrière un proxy de confiance (sinon l'en-tête est fourni par le client)
+    @Value("${app.rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    @Value("${app.rate-limit.trusted-proxies:127.0.0.0/8,::1/128,10.0.0.0/8,172.16.0.0/12,192.168.0.0/16,169.254.0.0/16}")
+    private List<String> trustedProxies;
+
+    private List<IpAddressMatcher> proxyMatchers;
+
+    @Value("${app.rate-limit.auth-per-minute:10}")
+    private int authPerMinute;
+
+    @Value("${app.rate-limit.public-read-per-minute:60}")
+    private int publicReadPerMinute;
+
+    @Value("${app.rate-limit.public-validate-per-minute:5}")
+    private int publicValidatePerMinute;
+
+    // Plafond par brief, toutes IP confondues : 1 000 000 de codes possibles
+    @Value("${app.rate-limit.public-validate-per-brief-per-hour:20}")
+    private int publicValidatePerBriefPerHour;
+
+    @Value("${app.rate-limit.api-per-minute:300}")
+    private int apiPerMinute;
+
+    @Override
+    protected void initFilterBean() {
+        proxyMatchers = trustedProxies.stream().map(String::trim).filter(p -> !p.isEmpty()).map(IpAddressMatcher::new).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || "OPTIONS".equals(request.getMethod())
+                || request.getServletPath().equals("/stripe/webhook")
+                || request.getServletPath().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String path = request.getServletPath();
+        String method = request.getMethod();
+        String ip = clientIp(request);
+        long retryAfterMillis;
+        String rule;
+
+        if (path.startsWith("/auth/")) {
+            rule = "auth";
+            retryAfterMillis = rateLimiter.tryAcquire("auth:" + ip, authPerMinute, MINUTE);
+        } else if (path.startsWith("/briefs/public/") && path.endsWith("/validate") && "PUT".equals(method)) {
+            rule = "public-validate";
+            String uuid = canonicalUuid(path.substring("/briefs/public/".length(), path.length() - "/validate".length()));
+            retryAfterMillis = rateLimiter.tryAcquire("validate:" + ip, publicValidatePerMinute, MINUTE);
+            if (retryAfterMillis == 0 && uuid != null) {
+                retryAfterMillis = rateLimiter.tryAcquire("validate-brief:" + uuid, publicValidatePerBriefPerHour, HOUR);
+            }
+        } else if (path.startsWith("/briefs/public/")) {
+            rule = "public-read";
+            retryAfterMillis = rateLimiter.tryAcquire("public:" + ip, publicReadPerMinute, MINUTE);
+        } else {
+            rule = "api";
+            String user = authenticatedEmail(request);
+            String key = user != null ? "api-user:" + user : "api-ip:" + ip;
+            retryAfterMillis = rateLimiter.tryAcquire(key, apiPerMinute, MINUTE);
+        }
+
+        if (retryAfterMillis > 0) {
+            meterRegistry.counter("http.rate.limited", "rule", rule).increment();
+            long retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Too many requests");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String authenticatedEmail(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        String token = authHeader.substring(7);
+        JwtUtil.AccessClaims claims = jwtUtil.parseAccessToken(token);
+        return claims != null ? claims.email() : null;
+    }
+
+    // Une seule clé par brief quelle que soit l'écriture de l'UUID (casse, ...) ; null si ce n'en est pas un
+    private static String canonicalUuid(String segment) {
+        try {
+            return UUID.fromString(segment).toString();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * IP du client : l'adresse de la connexion, ou, si elle vient d'un proxy de confiance, le premier
+     * saut de X-Forwarded-For en partant de la droite qui n'est pas lui-même un proxy de confiance.
+     * Les entrées plus à gauche sont fournies par le client et ignorées.
+     */
+    private String clientIp(HttpServletRequest request) {
+        String ip = request.getRemoteAddr();
+        if (!trustForwardedFor || !isTrustedProxy(ip)) {
+            return ip;
+        }
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded == null || forwarded.isBlank()) {
+            return ip;
+        }
+        String[] hops = forwarded.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                continue;
+            }
+            if (!isTrustedProxy(hop)) {
+                return hop;
+            }
+            ip = hop;
+        }
+        return ip;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        for (IpAddressMatcher matcher : proxyMatchers) {
+            try {
+                if (matcher.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // Saut mal formé : jamais considéré comme un proxy
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,66 @@
+package com.killiann.briefsaas.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+
+/**
+ * Mesure périodiquement le retard de réplication du réplica Postgres.
+ * Au-delà du retard maximal toléré, les lectures repassent sur le primaire.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // 0 quand le réplica a rejoué tout le WAL reçu (ou quand la base n'est pas un standby)
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000
+            END
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMillis;
+
+    private volatile long lagMillis = 0;
+    private volatile boolean replicaUsable = true;
+    private volatile Instant lastCheckAt;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagMillis) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:10s}")
+    public void refresh() {
+        try {
+            Number lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Number.class);
+            lagMillis = lag != null ? lag.longValue() : 0;
+            replicaUsable = lagMillis <= maxLagMillis;
+            if (!replicaUsable) {
+                log.warn("Replica lag {} ms exceeds {} ms, reads routed to primary", lagMillis, maxLagMillis);
+            }
+        } catch (Exception e) {
+            replicaUsable = false;
+            log.warn("Replica lag check failed, reads routed to primary: {}", e.getMessage());
+        }
+        lastCheckAt = Instant.now();
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public Instant getLastCheckAt() {
+        return lastCheckAt;
+    }
+}
@@ -0,0 +1,73 @@
+package com.killiann.briefsaas.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Envoie les transactions en lecture seule vers le réplica et tout le reste vers le primaire.
+ * Un utilisateur qui vient d'écrire reste sur le primaire pendant la fenêtre read-your-writes
+ * (au moins le retard mesuré du réplica).
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final long readYourWritesWindowMillis;
+    private final ConcurrentMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReplicationRoutingDataSource(ReplicaLagMonitor lagMonitor, Duration readYourWritesWindow) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesWindowMillis = readYourWritesWindow.toMillis();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String principal = currentPrincipal();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (principal != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                lastWrites.put(principal, System.currentTimeMillis());
+            }
+            return Target.PRIMARY;
+        }
+
+        if (!lagMonitor.isReplicaUsable() || wroteRecently(principal)) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    private boolean wroteRecently(String principal) {
+        if (principal == null) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(principal);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < stickinessWindow();
+    }
+
+    private long stickinessWindow() {
+        return Math.max(readYourWritesWindowMillis, lagMonitor.getLagMillis());
+    }
+
+    /**
+     * Oublie les écritures sorties de la fenêtre pour garder la map bornée.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpiredWrites() {
+        long threshold = System.currentTimeMillis() - stickinessWindow();
+        lastWrites.values().removeIf(lastWrite -> lastWrite < threshold);
+    }
+
+    private String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,74 @@
+package com.killiann.briefsaas.config;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Journalise les phases de démarrage (JVM, refresh du contexte, étapes les plus lentes)
+ * puis le délai jusqu'à la première requête servie.
+ */
+@Component
+@RequiredArgsConstructor
+public class StartupTimelineReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimelineReporter.class);
+    private static final int SLOWEST_STEPS = 10;
+
+    private final ApplicationStartup applicationStartup;
+    private final AtomicBoolean firstRequestSeen = new AtomicBoolean();
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        long uptime = System.currentTimeMillis() - jvmStart;
+        Duration ready = event.getTimeTaken();
+
+        log.info("Startup timeline: JVM → main {} ms, Spring ready in {} ms, JVM uptime {} ms",
+                uptime - (ready != null ? ready.toMillis() : 0),
+                ready != null ? ready.toMillis() : -1,
+                uptime);
+
+        if (applicationStartup instanceof BufferingApplicationStartup buffering) {
+            StartupTimeline timeline = buffering.drainBufferedTimeline();
+            timeline.getEvents().stream()
+                    .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                    .limit(SLOWEST_STEPS)
+                    .forEach(step -> log.info("  {} ms  {} {}",
+                            step.getDuration().toMillis(),
+                            step.getStartupStep().getName(),
+                            describeTags(step)));
+        }
+    }
+
+    @EventListener
+    public void onRequestHandled(ServletRequestHandledEvent event) {
+        if (firstRequestSeen.compareAndSet(false, true)) {
+            long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+            log.info("Startup timeline: first request {} handled {} ms after JVM start",
+                    event.getRequestUrl(), System.currentTimeMillis() - jvmStart);
+        }
+    }
+
+    private String describeTags(StartupTimeline.TimelineEvent step) {
+        StringBuilder tags = new StringBuilder();
+        step.getStartupStep().getTags().forEach(tag -> {
+            if ("beanName".equals(tag.getKey())) {
+                tags.append(tag.getValue());
+            }
+        });
+        return tags.toString();
+    }
+}
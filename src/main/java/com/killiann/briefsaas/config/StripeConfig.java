@@ -1,17 +1,27 @@
 package com.killiann.briefsaas.config;
 
 import com.stripe.Stripe;
+import com.stripe.net.ApiResource;
+import com.stripe.net.LiveStripeResponseGetter;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@RequiredArgsConstructor
 public class StripeConfig {
     @Value("${stripe.api.secret}")
     private String secretKey;
 
+    private final ObservationRegistry observationRegistry;
+
     @PostConstruct
     public void init() {
         Stripe.apiKey = secretKey;
+        // Toutes les requêtes du SDK passent par un client observé (spans + métriques)
+        ApiResource.setStripeResponseGetter(
+                new LiveStripeResponseGetter(new ObservedStripeHttpClient(observationRegistry)));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package com.killiann.briefsaas.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Actif seulement avec {@code spring.threads.virtual.enabled=true} (JDK 21+).
+ * Écoute l'événement JFR {@code jdk.VirtualThreadPinned} pour signaler les appels bloquants
+ * qui immobilisent un carrier thread (blocs synchronized dans JavaMail, Stripe, etc. avant JDK 24).
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadDiagnostics {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadDiagnostics.class);
+
+    @Value("${app.virtual-threads.pinned-threshold:20ms}")
+    private Duration pinnedThreshold;
+
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        int feature = Runtime.version().feature();
+        if (feature < 21) {
+            log.warn("spring.threads.virtual.enabled is set but the JVM is {}: platform threads are used", feature);
+            return;
+        }
+        if (feature < 24) {
+            log.info("JDK {}: synchronized blocks pin virtual threads, watching jdk.VirtualThreadPinned", feature);
+        }
+
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(pinnedThreshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        String frame = "unknown";
+        if (event.getStackTrace() != null) {
+            for (RecordedFrame f : event.getStackTrace().getFrames()) {
+                if (f.isJavaFrame()) {
+                    frame = f.getMethod().getType().getName() + "." + f.getMethod().getName();
+                    break;
+                }
+            }
+        }
+        log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), frame);
+    }
+
+    public long getPinnedEvents() {
+        return pinnedEvents.get();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -1,15 +1,81 @@
 package com.killiann.briefsaas.controller;
 
+import com.killiann.briefsaas.config.ReplicaLagMonitor;
+import com.killiann.briefsaas.entity.AccountPurge;
+import com.killiann.briefsaas.service.AccountPurgeService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/admin")
+@RequiredArgsConstructor
 @CrossOrigin
 public class AdminController {
 
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+    private final AccountPurgeService accountPurgeService;
+
     @GetMapping("/test")
     public ResponseEntity<String> testAdmin() {
         return ResponseEntity.ok("✅ Accès ADMIN autorisé !");
     }
-}
\ No newline at end of file
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : stats.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = stats.getDomainDataRegionStatistics(region);
+            if (regionStats == null) {
+                continue;
+            }
+            regions.put(region, Map.of(
+                    "hits", regionStats.getHitCount(),
+                    "misses", regionStats.getMissCount(),
+                    "puts", regionStats.getPutCount(),
+                    "elementsInMemory", regionStats.getElementCountInMemory()
+            ));
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("statisticsEnabled", stats.isStatisticsEnabled());
+        body.put("secondLevelCacheHits", stats.getSecondLevelCacheHitCount());
+        body.put("secondLevelCacheMisses", stats.getSecondLevelCacheMissCount());
+        body.put("queryCacheHits", stats.getQueryCacheHitCount());
+        body.put("queryCacheMisses", stats.getQueryCacheMissCount());
+        body.put("regions", regions);
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/replica")
+    public ResponseEntity<Map<String, Object>> replicaStatus() {
+        ReplicaLagMonitor monitor = replicaLagMonitor.getIfAvailable();
+        if (monitor == null) {
+            return ResponseEntity.ok(Map.of("enabled", false));
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled", true);
+        body.put("usable", monitor.isReplicaUsable());
+        body.put("lagMillis", monitor.getLagMillis());
+        body.put("lastCheckAt", monitor.getLastCheckAt());
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/account-purges")
+    public ResponseEntity<List<AccountPurge>> accountPurges() {
+        return ResponseEntity.ok(accountPurgeService.recentPurges());
+    }
+}
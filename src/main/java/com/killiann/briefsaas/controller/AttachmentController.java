@@ -0,0 +1,160 @@
+package com.killiann.briefsaas.controller;
+
+import com.killiann.briefsaas.dto.AttachmentDto;
+import com.killiann.briefsaas.dto.AttachmentUploadRequest;
+import com.killiann.briefsaas.dto.AttachmentUploadResponse;
+import com.killiann.briefsaas.entity.BriefAttachment;
+import com.killiann.briefsaas.entity.User;
+import com.killiann.briefsaas.service.AttachmentService;
+import com.killiann.briefsaas.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Pièces jointes : envoi par morceaux repris via l'en-tête Upload-Offset, téléchargement
+ * avec prise en charge de Range (une plage) et envoi du fichier par sendfile quand Tomcat le permet.
+ */
+@RestController
+@RequestMapping("/briefs")
+@RequiredArgsConstructor
+@CrossOrigin
+public class AttachmentController {
+
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final AttachmentService attachmentService;
+    private final UserService userService;
+
+    @GetMapping("/{id}/attachments")
+    public ResponseEntity<List<AttachmentDto>> getAttachments(@PathVariable Long id) {
+        User currentUser = userService.getCurrentUser();
+        return ResponseEntity.ok(attachmentService.listAttachments(id, currentUser));
+    }
+
+    @PostMapping("/{id}/attachments/uploads")
+    public ResponseEntity<AttachmentUploadResponse> startUpload(@PathVariable Long id, @RequestBody AttachmentUploadRequest request) {
+        User currentUser = userService.getCurrentUser();
+        return ResponseEntity.status(HttpStatus.CREATED).body(attachmentService.startUpload(id, request, currentUser));
+    }
+
+    // Reprise : renvoie le nombre d'octets déjà reçus
+    @GetMapping("/{id}/attachments/uploads/{uploadId}")
+    public ResponseEntity<AttachmentUploadResponse> getUpload(@PathVariable Long id, @PathVariable UUID uploadId) {
+        User currentUser = userService.getCurrentUser();
+        AttachmentUploadResponse upload = attachmentService.uploadStatus(id, uploadId, currentUser);
+        return ResponseEntity.ok().header(UPLOAD_OFFSET, String.valueOf(upload.getOffset())).body(upload);
+    }
+
+    @PutMapping(value = "/{id}/attachments/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<AttachmentUploadResponse> uploadChunk(
+            @PathVariable Long id,
+            @PathVariable UUID uploadId,
+            @RequestHeader(UPLOAD_OFFSET) long offset,
+            HttpServletRequest request
+    ) throws IOException {
+        User currentUser = userService.getCurrentUser();
+        AttachmentUploadResponse upload = attachmentService.appendChunk(id, uploadId, offset, request.getInputStream(), currentUser);
+        HttpStatus status = upload.getAttachment() != null ? HttpStatus.CREATED : HttpStatus.OK;
+        return ResponseEntity.status(status).header(UPLOAD_OFFSET, String.valueOf(upload.getOffset())).body(upload);
+    }
+
+    @DeleteMapping("/{id}/attachments/uploads/{uploadId}")
+    public ResponseEntity<Void> cancelUpload(@PathVariable Long id, @PathVariable UUID uploadId) {
+        User currentUser = userService.getCurrentUser();
+        attachmentService.cancelUpload(id, uploadId, currentUser);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{id}/attachments/{attachmentId}")
+    public void downloadAttachment(@PathVariable Long id, @PathVariable Long attachmentId,
+                                   HttpServletRequest request, HttpServletResponse response) throws IOException {
+        User currentUser = userService.getCurrentUser();
+        serve(attachmentService.getAttachment(id, attachmentId, currentUser), request, response);
+    }
+
+    @DeleteMapping("/{id}/attachments/{attachmentId}")
+    public ResponseEntity<Void> deleteAttachment(@PathVariable Long id, @PathVariable Long attachmentId) {
+        User currentUser = userService.getCurrentUser();
+        attachmentService.deleteAttachment(id, attachmentId, currentUser);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/public/{uuid}/attachments/{attachmentId}")
+    public void downloadPublicAttachment(@PathVariable UUID uuid, @PathVariable Long attachmentId,
+                                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(attachmentService.getPublicAttachment(uuid, attachmentId), request, response);
+    }
+
+    private void serve(BriefAttachment attachment, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long size = attachment.getSize();
+        long start = 0;
+        long length = size;
+        // Contenu adressé par son hash : ETag fort, valable pour If-Range
+        String etag = "\"" + attachment.getSha256() + "\"";
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(attachment.getFilename(), StandardCharsets.UTF_8).build().toString());
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // Plusieurs plages : contenu complet en 200, ce que RFC 9110 autorise
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(size);
+                length = ranges.get(0).getRangeEnd(size) - start + 1;
+                if (start >= size || length <= 0) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + length - 1) + "/" + size);
+            }
+        }
+
+        response.setContentType(attachment.getContentType());
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        Optional<Path> file = attachmentService.localPath(attachment);
+        if (file.isPresent() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat écrit le fichier après la réponse avec sendfile : copie par le noyau, sans tampon JVM
+            request.setAttribute(SENDFILE_FILENAME, file.get().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        attachmentService.transferTo(attachment, start, length, Channels.newChannel(response.getOutputStream()));
+    }
+}
@@ -2,8 +2,10 @@ package com.killiann.briefsaas.controller;
 
 import com.killiann.briefsaas.dto.AuthResponse;
 import com.killiann.briefsaas.dto.LoginRequest;
+import com.killiann.briefsaas.dto.RefreshRequest;
 import com.killiann.briefsaas.dto.SignupRequest;
 import com.killiann.briefsaas.service.AuthService;
+import com.killiann.briefsaas.service.TokenService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +19,7 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthService authService;
+    private final TokenService tokenService;
 
     @PostMapping("/signup")
     public ResponseEntity<AuthResponse> signup(@RequestBody SignupRequest request) {
@@ -28,6 +31,17 @@ public class AuthController {
         return ResponseEntity.ok(authService.login(request));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshRequest request) {
+        return ResponseEntity.ok(tokenService.refresh(request.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshRequest request) {
+        tokenService.logout(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/verify")
     public ResponseEntity<AuthResponse> verifyEmail(@RequestParam String token) {
         return ResponseEntity.ok(authService.verifyEmail(token));
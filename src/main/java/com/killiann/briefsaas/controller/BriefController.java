@@ -1,22 +1,32 @@
 package com.killiann.briefsaas.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.killiann.briefsaas.dto.*;
 import com.killiann.briefsaas.entity.Brief;
 import com.killiann.briefsaas.entity.BriefStatus;
 import com.killiann.briefsaas.entity.User;
 import com.killiann.briefsaas.exception.BadRequestException;
 import com.killiann.briefsaas.exception.ForbiddenException;
+import com.killiann.briefsaas.service.BriefAutosaveService;
+import com.killiann.briefsaas.service.BriefRevisionService;
 import com.killiann.briefsaas.service.BriefService;
 import com.killiann.briefsaas.service.PdfService;
 import com.killiann.briefsaas.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -25,20 +35,44 @@ import java.util.UUID;
 @CrossOrigin
 public class BriefController {
 
+    private static final Set<String> BRIEF_FIELDS = Set.of(
+            "id", "publicUuid", "title", "description", "objectives", "targetAudience", "budget",
+            "deadline", "deliverables", "constraints", "client", "clientValidated", "validatedAt",
+            "status", "createdAt", "updatedAt"
+    );
+
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final BriefService briefService;
-    private final PdfService pdfService;
+    private final BriefAutosaveService briefAutosaveService;
+    private final BriefRevisionService briefRevisionService;
+    private final ObjectProvider<PdfService> pdfService;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * fields= (ex. "id,title,status,client" ou "summary") restreint les champs renvoyés ;
+     * si tous appartiennent au résumé, la liste est chargée par projection sans les colonnes lourdes.
+     */
     @GetMapping
-    public ResponseEntity<Page<BriefResponse>> getMyBriefs(
+    public ResponseEntity<Page<?>> getMyBriefs(
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) String fields,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "4") int size
-    ) {
+    ) throws BadRequestException {
         User currentUser = userService.getCurrentUser();
-        Page<BriefResponse> briefs = briefService.getUserBriefs(currentUser, status, page, size);
-        return ResponseEntity.ok(briefs);
+        if (fields == null) {
+            return ResponseEntity.ok(briefService.getUserBriefs(currentUser, status, page, size));
+        }
+
+        Set<String> selected = parseFields(fields);
+        if (BriefSummary.FIELDS.containsAll(selected)) {
+            Page<BriefSummary> summaries = briefService.getUserBriefSummaries(currentUser, status, page, size);
+            return ResponseEntity.ok(selected.equals(BriefSummary.FIELDS) ? summaries : summaries.map(s -> select(s, selected)));
+        }
+        return ResponseEntity.ok(briefService.getUserBriefs(currentUser, status, page, size).map(b -> select(b, selected)));
     }
 
     @PostMapping
@@ -51,13 +85,15 @@ public class BriefController {
     @PostMapping("/{id}/submit")
     public ResponseEntity<BriefResponse> submitBriefToClient(@PathVariable Long id) throws BadRequestException, ForbiddenException {
         User currentUser = userService.getCurrentUser();
+        briefAutosaveService.flush(id);
         BriefResponse response = briefService.submitToClient(id, currentUser);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BriefResponse> getBriefById(@PathVariable Long id) {
+    public ResponseEntity<BriefResponse> getBriefById(@PathVariable Long id) throws ForbiddenException {
         User currentUser = userService.getCurrentUser();
+        briefAutosaveService.flush(id);
         BriefResponse brief = briefService.getBriefById(id, currentUser);
         return ResponseEntity.ok(brief);
     }
@@ -71,28 +107,82 @@ public class BriefController {
     @PutMapping("/{id}")
     public ResponseEntity<BriefResponse> updateBrief(@PathVariable Long id, @RequestBody BriefRequest request) throws ForbiddenException {
         User currentUser = userService.getCurrentUser();
+        briefAutosaveService.discard(id, currentUser);
         BriefResponse brief = briefService.updateBrief(id, request, currentUser);
         return ResponseEntity.ok(brief);
     }
 
+    // Mise à jour partielle (JSON Merge Patch) : seules les colonnes modifiées sont écrites
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON)
+    public ResponseEntity<BriefResponse> patchBrief(@PathVariable Long id, @RequestBody JsonNode patch)
+            throws BadRequestException, ForbiddenException {
+        User currentUser = userService.getCurrentUser();
+        BriefResponse brief = briefAutosaveService.save(id, briefService.readMergePatch(patch), currentUser);
+        return ResponseEntity.ok(brief);
+    }
+
+    // Sauvegarde automatique : saisies fusionnées en mémoire, écrites après une pause de frappe
+    @PostMapping(value = "/{id}/autosave", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> autosaveBrief(@PathVariable Long id, @RequestBody JsonNode patch) throws BadRequestException {
+        User currentUser = userService.getCurrentUser();
+        briefAutosaveService.submit(id, briefService.readMergePatch(patch), currentUser);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/{id}/autosave/flush")
+    public ResponseEntity<BriefResponse> flushAutosave(@PathVariable Long id) throws ForbiddenException {
+        User currentUser = userService.getCurrentUser();
+        briefAutosaveService.flush(id);
+        return ResponseEntity.ok(briefService.getBriefById(id, currentUser));
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<BriefResponse> updateBriefStatus(
             @PathVariable Long id,
             @RequestBody BriefUpdateRequest request
     ) throws ForbiddenException {
         User currentUser = userService.getCurrentUser();
+        briefAutosaveService.flush(id);
         BriefResponse updated = briefService.updateBriefStatus(id, request.getStatus(), currentUser);
         return ResponseEntity.ok(updated);
     }
 
+    @GetMapping("/{id}/revisions")
+    public ResponseEntity<Page<BriefRevisionSummary>> getRevisions(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) throws ForbiddenException {
+        User currentUser = userService.getCurrentUser();
+        briefAutosaveService.flush(id);
+        return ResponseEntity.ok(briefRevisionService.listRevisions(id, currentUser, page, size));
+    }
+
+    @GetMapping("/{id}/revisions/{revision}")
+    public ResponseEntity<BriefRevisionResponse> getRevision(@PathVariable Long id, @PathVariable int revision) {
+        User currentUser = userService.getCurrentUser();
+        return ResponseEntity.ok(briefRevisionService.getRevision(id, revision, currentUser));
+    }
+
+    @GetMapping("/{id}/revisions/diff")
+    public ResponseEntity<BriefRevisionDiff> diffRevisions(
+            @PathVariable Long id,
+            @RequestParam int from,
+            @RequestParam int to
+    ) {
+        User currentUser = userService.getCurrentUser();
+        return ResponseEntity.ok(briefRevisionService.diff(id, from, to, currentUser));
+    }
+
     @GetMapping("/{id}/pdf")
     public ResponseEntity<byte[]> downloadBriefPdf(@PathVariable Long id, @RequestHeader(name = "Accept-Language", required = false) Locale locale) throws ForbiddenException {
         User currentUser = userService.getCurrentUser();
+        briefAutosaveService.flush(id);
         Brief brief = briefService.getBriefByIdForCurrentUser(id, currentUser);
 
         byte[] pdfBytes;
         try {
-            pdfBytes = pdfService.generateBriefPdf(brief, locale != null ? locale : Locale.FRENCH);
+            pdfBytes = pdfService.getObject().generateBriefPdf(brief, locale != null ? locale : Locale.FRENCH);
         } catch (IOException e) {
             throw new RuntimeException("Erreur génération PDF", e);
         }
@@ -105,8 +195,9 @@ public class BriefController {
     }
 
     @PutMapping("/{id}/validate")
-    public ResponseEntity<BriefResponse> validateBrief(@PathVariable Long id) {
+    public ResponseEntity<BriefResponse> validateBrief(@PathVariable Long id) throws ForbiddenException {
         User currentUser = userService.getCurrentUser();
+        briefAutosaveService.flush(id);
         BriefResponse brief = briefService.validateBrief(id, currentUser);
         return ResponseEntity.ok(brief);
     }
@@ -123,7 +214,31 @@ public class BriefController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBrief(@PathVariable Long id) {
         User currentUser = userService.getCurrentUser();
+        briefAutosaveService.discard(id, currentUser);
         briefService.deleteBrief(id, currentUser);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private Set<String> parseFields(String fields) throws BadRequestException {
+        if ("summary".equals(fields)) {
+            return BriefSummary.FIELDS;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!name.isEmpty()) {
+                selected.add(name);
+            }
+        }
+        if (selected.isEmpty() || !BRIEF_FIELDS.containsAll(selected)) {
+            throw new BadRequestException("Unknown field in: " + fields);
+        }
+        return selected;
+    }
+
+    private Map<String, Object> select(Object brief, Set<String> selected) {
+        Map<String, Object> values = objectMapper.convertValue(brief, new TypeReference<LinkedHashMap<String, Object>>() {});
+        values.keySet().retainAll(selected);
+        return values;
+    }
+}
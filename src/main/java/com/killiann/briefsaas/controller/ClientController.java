@@ -35,16 +35,13 @@ public class ClientController {
     @PutMapping("/{id}")
     public ResponseEntity<ClientDto> updateClient(@PathVariable Long id,
                                                   @RequestBody ClientDto dto,
-                                                  @AuthenticationPrincipal User user) throws ForbiddenException {
-        Client client = clientService.getClientByIdAndOwner(id, user);
-
-        Client updated = clientService.updateClient(client, clientService.fromDTO(dto));
-        return ResponseEntity.ok(clientService.toDTO(updated));
+                                                  @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(clientService.updateClient(id, dto, user));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteClient(@PathVariable Long id,
-                                             @AuthenticationPrincipal User user) throws ForbiddenException {
+                                             @AuthenticationPrincipal User user) {
         clientService.deleteClient(id, user);
         return ResponseEntity.noContent().build();
     }
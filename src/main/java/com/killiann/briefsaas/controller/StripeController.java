@@ -13,6 +13,8 @@ import com.stripe.model.Subscription;
 import com.stripe.model.checkout.Session;
 import com.stripe.net.Webhook;
 import com.stripe.param.billingportal.SessionCreateParams;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
@@ -23,8 +25,10 @@ import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequiredArgsConstructor
@@ -33,11 +37,21 @@ public class StripeController {
 
     private static final Logger log = LoggerFactory.getLogger(StripeController.class);
 
+    // Types traités : les autres sont regroupés sous "other" pour borner la cardinalité des tags
+    private static final Set<String> HANDLED_EVENT_TYPES = Set.of(
+            "checkout.session.completed",
+            "customer.subscription.deleted",
+            "customer.subscription.updated"
+    );
+
     @Value("${stripe.webhook.secret}")
     private String endpointSecret;
 
     private final StripeService stripeService;
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    // ObjectMapper partagé de l'application (thread-safe, caches de sérialiseurs déjà chauds)
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/checkout")
     public ResponseEntity<?> checkout(Authentication auth, @RequestBody Map<String, String> req) {
@@ -62,13 +76,34 @@ public class StripeController {
         try {
             event = Webhook.constructEvent(payload, sigHeader, endpointSecret);
         } catch (Exception e) {
+            meterRegistry.counter("stripe.webhook.rejected").increment();
             return ResponseEntity.badRequest().body("Signature invalide");
         }
 
+        String type = HANDLED_EVENT_TYPES.contains(event.getType()) ? event.getType() : "other";
+
+        // Délai entre la création de l'événement chez Stripe et sa réception
+        if (event.getCreated() != null) {
+            Duration lag = Duration.between(Instant.ofEpochSecond(event.getCreated()), Instant.now());
+            meterRegistry.timer("stripe.webhook.lag", "type", type).record(lag.isNegative() ? Duration.ZERO : lag);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            processEvent(event);
+            outcome = "success";
+        } finally {
+            sample.stop(meterRegistry.timer("stripe.webhook.processing", "type", type, "outcome", outcome));
+        }
+
+        return ResponseEntity.ok("Webhook reçu");
+    }
+
+    private void processEvent(Event event) {
         switch (event.getType()) {
 
             case "checkout.session.completed" -> {
-                ObjectMapper mapper = new ObjectMapper();
                 Session session = null;
 
                 // Tentative via désérialisation
@@ -85,7 +120,7 @@ public class StripeController {
                 if (session == null) {
                     try {
                         String json = event.getData().getObject().toJson();
-                        JsonNode node = mapper.readTree(json);
+                        JsonNode node = objectMapper.readTree(json);
                         String sessionId = node.get("id").asText();
                         session = Session.retrieve(sessionId);
                         log.info("↩️ Session récupérée via fallback: {}", sessionId);
@@ -126,7 +161,6 @@ public class StripeController {
             }
 
             case "customer.subscription.deleted" -> {
-                ObjectMapper mapper = new ObjectMapper();
                 Subscription subscription = null;
 
                 // Tentative de désérialisation
@@ -143,7 +177,7 @@ public class StripeController {
                 if (subscription == null) {
                     try {
                         String json = event.getData().getObject().toJson();
-                        JsonNode node = mapper.readTree(json);
+                        JsonNode node = objectMapper.readTree(json);
                         String subscriptionId = node.get("id").asText();
                         subscription = Subscription.retrieve(subscriptionId);
                         log.info("↩️ Subscription récupérée via fallback : {}", subscriptionId);
@@ -168,7 +202,6 @@ public class StripeController {
             }
 
             case "customer.subscription.updated" -> {
-                ObjectMapper mapper = new ObjectMapper();
                 Subscription subscription = null;
 
                 // Tentative de désérialisation directe
@@ -185,7 +218,7 @@ public class StripeController {
                 if (subscription == null) {
                     try {
                         String json = event.getData().getObject().toJson();
-                        JsonNode node = mapper.readTree(json);
+                        JsonNode node = objectMapper.readTree(json);
                         String subscriptionId = node.get("id").asText();
                         subscription = Subscription.retrieve(subscriptionId);
                         log.info("↩️ Subscription récupérée via fallback (update) : {}", subscriptionId);
@@ -218,8 +251,6 @@ public class StripeController {
                 }
             }
         }
-
-        return ResponseEntity.ok("Webhook reçu");
     }
 
     @PostMapping("/portal")
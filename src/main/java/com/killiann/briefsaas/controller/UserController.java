@@ -4,11 +4,13 @@ import com.killiann.briefsaas.dto.UpdateProfileRequest;
 import com.killiann.briefsaas.dto.UserResponse;
 import com.killiann.briefsaas.entity.User;
 import com.killiann.briefsaas.repository.UserRepository;
+import com.killiann.briefsaas.service.TokenService;
 import com.killiann.briefsaas.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -18,8 +20,10 @@ public class UserController {
 
     private final UserRepository userRepository;
     private final UserService userService;
+    private final TokenService tokenService;
 
     @GetMapping
+    @Transactional(readOnly = true)
     public ResponseEntity<UserResponse> me(Authentication authentication) {
         User user = getUser(authentication);
         return ResponseEntity.ok(toResponse(user));
@@ -40,6 +44,13 @@ public class UserController {
         return ResponseEntity.ok(toResponse(user));
     }
 
+    // Déconnexion de tous les appareils
+    @DeleteMapping("/sessions")
+    public ResponseEntity<Void> revokeSessions(Authentication authentication) {
+        tokenService.revokeAllSessions(getUser(authentication));
+        return ResponseEntity.noContent().build();
+    }
+
     private User getUser(Authentication authentication) {
         return userRepository.findByEmail(authentication.getName())
                 .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé"));
@@ -49,7 +60,7 @@ public class UserController {
     public ResponseEntity<Void> deleteCurrentUser(Authentication authentication) {
         User user = getUser(authentication);
         userService.delete(user);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.accepted().build();
     }
 
     private UserResponse toResponse(User user) {
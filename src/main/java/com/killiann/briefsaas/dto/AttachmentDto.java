@@ -0,0 +1,16 @@
+package com.killiann.briefsaas.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class AttachmentDto {
+    private Long id;
+    private String filename;
+    private String contentType;
+    private long size;
+    private Instant createdAt;
+}
@@ -0,0 +1,10 @@
+package com.killiann.briefsaas.dto;
+
+import lombok.Data;
+
+@Data
+public class AttachmentUploadRequest {
+    private String filename;
+    private String contentType;
+    private long size;
+}
@@ -0,0 +1,18 @@
+package com.killiann.briefsaas.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+// offset : octets déjà reçus, point de reprise du prochain morceau ; attachment renseigné une fois l'envoi complet
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AttachmentUploadResponse {
+    private UUID uploadId;
+    private long offset;
+    private long size;
+    private AttachmentDto attachment;
+}
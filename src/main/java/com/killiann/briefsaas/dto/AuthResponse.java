@@ -1,10 +1,19 @@
 package com.killiann.briefsaas.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
 @Data
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class AuthResponse {
     private String token;
-}
\ No newline at end of file
+    private String refreshToken;
+    // Durée de vie du jeton d'accès, en secondes
+    private Long expiresIn;
+
+    public AuthResponse(String token) {
+        this.token = token;
+    }
+}
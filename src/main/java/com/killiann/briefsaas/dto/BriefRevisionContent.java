@@ -0,0 +1,35 @@
+package com.killiann.briefsaas.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.killiann.briefsaas.entity.BriefStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Contenu versionné d'un brief. Sérialisé en JSON dans un ordre fixe :
+ * deux versions proches donnent des octets proches, donc des deltas courts.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({"title", "description", "objectives", "targetAudience", "budget", "deadline",
+        "deliverables", "constraints", "clientId", "status", "clientValidated"})
+public class BriefRevisionContent {
+    private String title;
+    private String description;
+    private List<String> objectives;
+    private String targetAudience;
+    private String budget;
+    private LocalDate deadline;
+    private List<String> deliverables;
+    private String constraints;
+    private Long clientId;
+    private BriefStatus status;
+    private Boolean clientValidated;
+}
@@ -0,0 +1,19 @@
+package com.killiann.briefsaas.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+// Champs modifiés entre deux révisions, avec leurs valeurs avant / après
+@Data
+@Builder
+public class BriefRevisionDiff {
+    private int from;
+    private int to;
+    private List<Change> changes;
+
+    public record Change(String field, JsonNode before, JsonNode after) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.killiann.briefsaas.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class BriefRevisionResponse {
+    private int revision;
+    private Instant createdAt;
+    private BriefRevisionContent content;
+}
@@ -0,0 +1,18 @@
+package com.killiann.briefsaas.dto;
+
+import com.killiann.briefsaas.entity.BriefStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+// Élément de l'historique, sans le contenu (payload non lu)
+@Data
+@AllArgsConstructor
+public class BriefRevisionSummary {
+    private int revision;
+    private boolean snapshot;
+    private BriefStatus status;
+    private int contentLength;
+    private Instant createdAt;
+}
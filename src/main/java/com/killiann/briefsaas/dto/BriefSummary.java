@@ -0,0 +1,54 @@
+package com.killiann.briefsaas.dto;
+
+import com.killiann.briefsaas.entity.BriefStatus;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Élément de liste d'un brief, chargé par expression constructeur JPQL :
+ * ni description, ni objectifs, ni livrables ne sont lus en base.
+ */
+@Data
+public class BriefSummary {
+
+    // Champs disponibles sans charger le brief complet (sélecteur fields= de GET /briefs)
+    public static final Set<String> FIELDS = Set.of(
+            "id", "publicUuid", "title", "status", "deadline", "client",
+            "clientValidated", "validatedAt", "createdAt", "updatedAt"
+    );
+
+    private Long id;
+    private UUID publicUuid;
+    private String title;
+    private BriefStatus status;
+    private LocalDate deadline;
+    private ClientDto client;
+    private Boolean clientValidated;
+    private LocalDateTime validatedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public BriefSummary(Long id, UUID publicUuid, String title, BriefStatus status, LocalDate deadline,
+                        Long clientId, String clientName, String clientEmail,
+                        Boolean clientValidated, LocalDateTime validatedAt,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.publicUuid = publicUuid;
+        this.title = title;
+        this.status = status;
+        this.deadline = deadline;
+        this.client = clientId == null ? null : ClientDto.builder()
+                .id(clientId)
+                .name(clientName)
+                .email(clientEmail)
+                .build();
+        this.clientValidated = clientValidated;
+        this.validatedAt = validatedAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
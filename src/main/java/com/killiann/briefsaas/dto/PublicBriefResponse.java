@@ -28,4 +28,5 @@ public class PublicBriefResponse {
     private BriefStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private List<AttachmentDto> attachments;
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.killiann.briefsaas.dto;
+
+import lombok.Data;
+
+@Data
+public class RefreshRequest {
+    private String refreshToken;
+}
@@ -0,0 +1,54 @@
+package com.killiann.briefsaas.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Suivi de la purge d'un compte supprimé. Sans clé étrangère vers users :
+ * la ligne survit à la suppression de l'utilisateur.
+ */
+@Entity
+@Table(name = "account_purges", indexes = @Index(name = "idx_account_purges_pending", columnList = "completed_at"))
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class AccountPurge {
+
+    public static final int LAST_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "requested_at", nullable = false)
+    private Instant requestedAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    @Column(name = "briefs_deleted")
+    private long briefsDeleted;
+
+    @Column(name = "clients_deleted")
+    private long clientsDeleted;
+
+    @Column(name = "tokens_deleted")
+    private long tokensDeleted;
+
+    private int attempts;
+
+    // Après un échec : pas de nouvelle tentative avant cette date
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = LAST_ERROR_LENGTH)
+    private String lastError;
+}
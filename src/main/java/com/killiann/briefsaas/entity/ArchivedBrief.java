@@ -0,0 +1,61 @@
+package com.killiann.briefsaas.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Brief du stockage froid (archivé, ou validé depuis longtemps), sorti de la table briefs et de ses index.
+ * Les colonnes des listes restent en clair ; le contenu (description, listes, ...) est compressé dans payload.
+ * Même identifiant que dans briefs : révisions, pièces jointes et liens publics restent valides.
+ */
+@Entity
+@Table(name = "briefs_archive", indexes = @Index(name = "idx_briefs_archive_owner", columnList = "user_id"))
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class ArchivedBrief {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "client_id")
+    private Long clientId;
+
+    // Lecture seule : porte la clé étrangère vers clients, un client encore référencé ici ne peut pas être supprimé
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_briefs_archive_client"))
+    private Client client;
+
+    @Column(name = "public_uuid", unique = true, updatable = false)
+    private UUID publicUuid;
+
+    private String title;
+
+    @Enumerated(EnumType.STRING)
+    private BriefStatus status;
+
+    private LocalDate deadline;
+
+    private Boolean clientValidated;
+
+    private LocalDateTime validatedAt;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    @Column(nullable = false, length = 65_536)
+    private byte[] payload;
+}
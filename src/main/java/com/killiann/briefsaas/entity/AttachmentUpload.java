@@ -0,0 +1,43 @@
+package com.killiann.briefsaas.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Envoi de pièce jointe en cours. Les octets reçus sont dans la zone de dépôt du stockage :
+ * la taille du fichier déposé fait foi pour la reprise, la ligne n'est pas mise à jour à chaque morceau.
+ */
+@Entity
+@Table(name = "attachment_uploads", indexes = {
+        @Index(name = "idx_attachment_uploads_created", columnList = "created_at"),
+        @Index(name = "idx_attachment_uploads_owner", columnList = "owner_id")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class AttachmentUpload {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "brief_id", nullable = false)
+    private Long briefId;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(nullable = false)
+    private String filename;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
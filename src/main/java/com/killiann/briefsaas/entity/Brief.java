@@ -2,6 +2,9 @@ package com.killiann.briefsaas.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -9,7 +12,8 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "briefs")
+@DynamicUpdate
+@Table(name = "briefs", indexes = @Index(name = "idx_briefs_owner", columnList = "user_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,7 +29,10 @@ public class Brief {
     @Column(length = 5000)
     private String description;
 
-    @ElementCollection
+    // Listes stockées dans la ligne du brief (tableau SQL, ordre conservé) : ni jointure ni
+    // suppression / réinsertion à chaque mise à jour. Anciennes tables reprises par BriefListsBackfill.
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "objectives", length = 1000)
     private List<String> objectives;
 
     private String targetAudience;
@@ -34,7 +41,8 @@ public class Brief {
 
     private LocalDate deadline;
 
-    @ElementCollection
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "deliverables", length = 1000)
     private List<String> deliverables;
 
     private String constraints;
@@ -59,6 +67,15 @@ public class Brief {
 
     private LocalDateTime updatedAt;
 
+    // Colonne NULL (brief sans élément) lue comme une liste vide, comme l'ancienne collection
+    public List<String> getObjectives() {
+        return objectives != null ? objectives : List.of();
+    }
+
+    public List<String> getDeliverables() {
+        return deliverables != null ? deliverables : List.of();
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
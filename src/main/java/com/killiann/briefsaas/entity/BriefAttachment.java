@@ -0,0 +1,43 @@
+package com.killiann.briefsaas.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Pièce jointe d'un brief. Le contenu est un objet du stockage adressé par son SHA-256 :
+ * plusieurs pièces jointes identiques partagent le même objet.
+ */
+@Entity
+@Table(name = "brief_attachments", indexes = {
+        @Index(name = "idx_brief_attachments_brief", columnList = "brief_id"),
+        @Index(name = "idx_brief_attachments_sha256", columnList = "sha256")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class BriefAttachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "brief_id", nullable = false)
+    private Long briefId;
+
+    @Column(nullable = false)
+    private String filename;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,46 @@
+package com.killiann.briefsaas.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Version d'un brief : instantané complet ou delta depuis la révision précédente,
+ * compressés (deflate). Sans clé étrangère : supprimée avec le brief par le service.
+ */
+@Entity
+@Table(name = "brief_revisions", uniqueConstraints = @UniqueConstraint(
+        name = "uk_brief_revisions_brief_revision", columnNames = {"brief_id", "revision"}))
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class BriefRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "brief_id", nullable = false)
+    private Long briefId;
+
+    @Column(nullable = false)
+    private int revision;
+
+    // true : payload = contenu complet ; false : delta (DeltaCodec) depuis revision - 1
+    @Column(nullable = false)
+    private boolean snapshot;
+
+    @Enumerated(EnumType.STRING)
+    private BriefStatus status;
+
+    // Taille du contenu reconstruit, avant compression
+    @Column(name = "content_length", nullable = false)
+    private int contentLength;
+
+    @Column(nullable = false, length = 262_144)
+    private byte[] payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,31 @@
+package com.killiann.briefsaas.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Session révoquée : ses jetons d'accès encore en circulation sont refusés jusqu'à
+ * {@code expiresAt} (révocation + durée de vie d'un jeton d'accès), puis la ligne est supprimée.
+ */
+@Entity
+@Table(name = "revoked_sessions", indexes = {
+        @Index(name = "idx_revoked_sessions_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_sessions_expires_at", columnList = "expires_at")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class RevokedSession {
+
+    @Id
+    @Column(name = "session_id", length = 36)
+    private String sessionId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
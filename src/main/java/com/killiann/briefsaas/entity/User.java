@@ -2,6 +2,8 @@ package com.killiann.briefsaas.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,7 +14,9 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_unverified", columnList = "enabled, created_at"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
@@ -67,6 +71,10 @@ public class User implements UserDetails {
 
     private LocalDateTime createdAt;
 
+    // Suppression demandée : compte inutilisable, données purgées en arrière-plan (AccountPurgeService)
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+
     @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL)
     private List<Brief> briefs;
 
@@ -75,6 +83,10 @@ public class User implements UserDetails {
         createdAt = LocalDateTime.now();
     }
 
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority(role.name()));
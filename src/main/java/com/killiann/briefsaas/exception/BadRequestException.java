@@ -4,7 +4,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public class BadRequestException extends Throwable {
-    public BadRequestException(String s) {
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
     }
 }
@@ -0,0 +1,38 @@
+package com.killiann.briefsaas.repository;
+
+import com.killiann.briefsaas.entity.AccountPurge;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface AccountPurgeRepository extends JpaRepository<AccountPurge, Long> {
+    /*
+     * Une purge en attente, verrouillée jusqu'au commit ; celles déjà prises par une autre instance sont sautées,
+     * celles en échec attendent leur prochaine tentative et sont abandonnées après :maxAttempts échecs.
+     */
+    @Query(value = """
+            select * from account_purges
+            where completed_at is null
+              and attempts < :maxAttempts
+              and (next_attempt_at is null or next_attempt_at <= :now)
+            order by attempts, requested_at
+            limit 1
+            for update skip locked
+            """, nativeQuery = true)
+    Optional<AccountPurge> claimNext(@Param("now") Instant now, @Param("maxAttempts") int maxAttempts);
+
+    // Séparé de recordError : l'échec est compté même si le message ne peut pas être enregistré
+    @Modifying
+    @Query("update AccountPurge p set p.attempts = p.attempts + 1, p.nextAttemptAt = :retryAt where p.id = :id")
+    int recordFailedAttempt(@Param("id") Long id, @Param("retryAt") Instant retryAt);
+
+    @Modifying
+    @Query("update AccountPurge p set p.lastError = :error where p.id = :id")
+    int recordError(@Param("id") Long id, @Param("error") String error);
+    List<AccountPurge> findTop50ByOrderByRequestedAtDesc();
+}
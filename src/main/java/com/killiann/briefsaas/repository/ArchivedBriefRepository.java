@@ -0,0 +1,66 @@
+package com.killiann.briefsaas.repository;
+
+import com.killiann.briefsaas.dto.BriefSummary;
+import com.killiann.briefsaas.entity.ArchivedBrief;
+import com.killiann.briefsaas.entity.BriefStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ArchivedBriefRepository extends JpaRepository<ArchivedBrief, Long> {
+    Optional<ArchivedBrief> findByIdAndOwnerId(Long id, Long ownerId);
+    long countByOwnerId(Long ownerId);
+    List<ArchivedBrief> findByIdInAndOwnerId(Collection<Long> ids, Long ownerId);
+
+    // Restauration : verrou sur la ligne froide, deux restaurations concurrentes ne réinsèrent pas le brief deux fois
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from ArchivedBrief a where a.id = :id and a.ownerId = :ownerId")
+    Optional<ArchivedBrief> findForRestore(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    // Même règle que BriefRepository#findByPublicUuidAndOwnerDeletedAtIsNull
+    @Query("""
+            select a from ArchivedBrief a
+            where a.publicUuid = :uuid
+              and exists (select 1 from User u where u.id = a.ownerId and u.deletedAt is null)
+            """)
+    Optional<ArchivedBrief> findPublic(@Param("uuid") UUID uuid);
+
+    @Query(value = """
+            select new com.killiann.briefsaas.dto.BriefSummary(
+                a.id, a.publicUuid, a.title, a.status, a.deadline,
+                c.id, c.name, c.email,
+                a.clientValidated, a.validatedAt, a.createdAt, a.updatedAt)
+            from ArchivedBrief a left join Client c on c.id = a.clientId
+            where a.ownerId = :ownerId and (:status is null or a.status = :status)
+            """,
+            countQuery = """
+            select count(a) from ArchivedBrief a
+            where a.ownerId = :ownerId and (:status is null or a.status = :status)
+            """)
+    Page<BriefSummary> findSummariesByOwnerId(@Param("ownerId") Long ownerId,
+                                              @Param("status") BriefStatus status,
+                                              Pageable pageable);
+
+    @Modifying
+    @Query("delete from ArchivedBrief a where a.id = :id and a.ownerId = :ownerId")
+    int deleteByIdAndOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    // Purge de compte, par lots comme BriefRepository#findIdsByOwnerId
+    @Query("select a.id from ArchivedBrief a where a.ownerId = :ownerId order by a.id")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId, Limit limit);
+
+    @Modifying
+    @Query("delete from ArchivedBrief a where a.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,19 @@
+package com.killiann.briefsaas.repository;
+
+import com.killiann.briefsaas.entity.AttachmentUpload;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface AttachmentUploadRepository extends JpaRepository<AttachmentUpload, UUID> {
+    Optional<AttachmentUpload> findByIdAndBriefIdAndOwnerId(UUID id, Long briefId, Long ownerId);
+    List<AttachmentUpload> findByCreatedAtBefore(Instant cutoff, Limit limit);
+    List<AttachmentUpload> findByBriefIdIn(Collection<Long> briefIds);
+    long countByBriefId(Long briefId);
+    long countByOwnerId(Long ownerId);
+}
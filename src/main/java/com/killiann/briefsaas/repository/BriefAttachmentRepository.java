@@ -0,0 +1,25 @@
+package com.killiann.briefsaas.repository;
+
+import com.killiann.briefsaas.entity.BriefAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface BriefAttachmentRepository extends JpaRepository<BriefAttachment, Long> {
+    List<BriefAttachment> findByBriefIdOrderById(Long briefId);
+    Optional<BriefAttachment> findByIdAndBriefId(Long id, Long briefId);
+    long countByBriefId(Long briefId);
+    boolean existsBySha256(String sha256);
+
+    @Query("select distinct a.sha256 from BriefAttachment a where a.briefId in :briefIds")
+    List<String> findShasByBriefIdIn(@Param("briefIds") Collection<Long> briefIds);
+
+    @Modifying
+    @Query("delete from BriefAttachment a where a.briefId in :briefIds")
+    int deleteByBriefIdIn(@Param("briefIds") Collection<Long> briefIds);
+}
@@ -1,17 +1,107 @@
 package com.killiann.briefsaas.repository;
 
+import com.killiann.briefsaas.dto.BriefSummary;
 import com.killiann.briefsaas.entity.Brief;
 import com.killiann.briefsaas.entity.BriefStatus;
 import com.killiann.briefsaas.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface BriefRepository extends JpaRepository<Brief, Long> {
     Page<Brief> findByOwner(User owner, Pageable pageable);
     Page<Brief> findByOwnerAndStatus(User owner, BriefStatus status, Pageable pageable);
-    Optional<Brief> findByPublicUuid(UUID uuid);
+    List<Brief> findByIdInAndOwner(Collection<Long> ids, User owner);
+    // Les liens publics d'un compte en cours de suppression ne sont plus servis
+    Optional<Brief> findByPublicUuidAndOwnerDeletedAtIsNull(UUID uuid);
     long countByOwner(User user);
-}
\ No newline at end of file
+
+    // Accès restreints au propriétaire : contrôle fait dans la requête (clé étrangère user_id, sans jointure)
+    Optional<Brief> findByIdAndOwnerId(Long id, Long ownerId);
+
+    // Écritures : la ligne reste verrouillée jusqu'au commit, les révisions du brief sont numérotées sans course
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Brief b where b.id = :id and b.owner.id = :ownerId")
+    Optional<Brief> findForUpdate(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Brief b where b.publicUuid = :uuid and b.owner.deletedAt is null")
+    Optional<Brief> findPublicForUpdate(@Param("uuid") UUID uuid);
+    boolean existsByIdAndOwnerId(Long id, Long ownerId);
+
+    @Modifying
+    @Query("update Brief b set b.status = :status, b.updatedAt = :now where b.id = :id and b.owner.id = :ownerId")
+    int updateStatusByIdAndOwnerId(@Param("id") Long id,
+                                   @Param("ownerId") Long ownerId,
+                                   @Param("status") BriefStatus status,
+                                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            update Brief b set b.status = com.killiann.briefsaas.entity.BriefStatus.VALIDATED,
+                b.validatedAt = :now, b.updatedAt = :now
+            where b.id = :id and b.owner.id = :ownerId
+            """)
+    int validateByIdAndOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from Brief b where b.id = :id and b.owner.id = :ownerId")
+    int deleteByIdAndOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    // Projection de liste : colonnes légères uniquement, client joint dans la même requête
+    @Query(value = """
+            select new com.killiann.briefsaas.dto.BriefSummary(
+                b.id, b.publicUuid, b.title, b.status, b.deadline,
+                c.id, c.name, c.email,
+                b.clientValidated, b.validatedAt, b.createdAt, b.updatedAt)
+            from Brief b left join b.client c
+            where b.owner = :owner and (:status is null or b.status = :status)
+            """,
+            countQuery = """
+            select count(b) from Brief b
+            where b.owner = :owner and (:status is null or b.status = :status)
+            """)
+    Page<BriefSummary> findSummariesByOwner(@Param("owner") User owner,
+                                            @Param("status") BriefStatus status,
+                                            Pageable pageable);
+
+    // Candidats au stockage froid : briefs archivés, ou validés avant la date donnée
+    @Query("""
+            select b.id from Brief b
+            where b.status = com.killiann.briefsaas.entity.BriefStatus.ARCHIVED
+               or (b.status = com.killiann.briefsaas.entity.BriefStatus.VALIDATED and b.validatedAt < :validatedBefore)
+            order by b.id
+            """)
+    List<Long> findColdIds(@Param("validatedBefore") LocalDateTime validatedBefore, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Brief b where b.id in :ids")
+    List<Brief> findAllForArchive(@Param("ids") List<Long> ids);
+
+    // Brief du propriétaire, dans la table chaude ou le stockage froid (révisions, pièces jointes, autosave)
+    @Query(value = """
+            select exists (select 1 from briefs where id = :id and user_id = :ownerId)
+                or exists (select 1 from briefs_archive where id = :id and user_id = :ownerId)
+            """, nativeQuery = true)
+    boolean existsInAnyTier(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    // Purge de compte : identifiants par lots, supprimés ensuite avec deleteByIdIn
+    @Query("select b.id from Brief b where b.owner.id = :ownerId order by b.id")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId, Limit limit);
+
+    @Modifying
+    @Query("delete from Brief b where b.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,40 @@
+package com.killiann.briefsaas.repository;
+
+import com.killiann.briefsaas.dto.BriefRevisionSummary;
+import com.killiann.briefsaas.entity.BriefRevision;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BriefRevisionRepository extends JpaRepository<BriefRevision, Long> {
+
+    @Query(value = """
+            select new com.killiann.briefsaas.dto.BriefRevisionSummary(
+                r.revision, r.snapshot, r.status, r.contentLength, r.createdAt)
+            from BriefRevision r where r.briefId = :briefId
+            """,
+            countQuery = "select count(r) from BriefRevision r where r.briefId = :briefId")
+    Page<BriefRevisionSummary> findSummariesByBriefId(@Param("briefId") Long briefId, Pageable pageable);
+
+    @Query("select max(r.revision) from BriefRevision r where r.briefId = :briefId")
+    Integer findLatestRevision(@Param("briefId") Long briefId);
+
+    // Instantané le plus proche : point de départ de la reconstruction
+    @Query("""
+            select max(r.revision) from BriefRevision r
+            where r.briefId = :briefId and r.snapshot = true and r.revision <= :revision
+            """)
+    Integer findSnapshotRevision(@Param("briefId") Long briefId, @Param("revision") int revision);
+
+    List<BriefRevision> findByBriefIdAndRevisionBetweenOrderByRevision(Long briefId, int from, int to);
+
+    @Modifying
+    @Query("delete from BriefRevision r where r.briefId in :briefIds")
+    int deleteByBriefIdIn(@Param("briefIds") Collection<Long> briefIds);
+}
@@ -2,12 +2,31 @@ package com.killiann.briefsaas.repository;
 
 import com.killiann.briefsaas.entity.Client;
 import com.killiann.briefsaas.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ClientRepository extends JpaRepository<Client, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Client> findByOwner(User owner);
     long countByOwner(User owner);
-    void deleteByOwner(User owner);
-}
\ No newline at end of file
+
+    // Accès restreints au propriétaire : contrôle fait dans la requête
+    Optional<Client> findByIdAndOwnerId(Long id, Long ownerId);
+
+    @Query("select c.id from Client c where c.owner.id = :ownerId order by c.id")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId, Limit limit);
+
+    @Modifying
+    @Query("delete from Client c where c.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
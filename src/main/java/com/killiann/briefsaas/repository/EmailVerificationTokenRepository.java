@@ -1,11 +1,28 @@
 package com.killiann.briefsaas.repository;
 
 import com.killiann.briefsaas.entity.EmailVerificationToken;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface EmailVerificationTokenRepository extends JpaRepository<EmailVerificationToken, Long> {
+    // Liens antérieurs aux jetons signés uniquement : la table ne reçoit plus de lignes
     Optional<EmailVerificationToken> findByToken(String token);
-    void deleteByToken(String token);
+
+    @Modifying
+    @Query("delete from EmailVerificationToken t where t.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from EmailVerificationToken t where t.user.id in :userIds")
+    int deleteByUserIdIn(@Param("userIds") List<Long> userIds);
+
+    @Query("select t.id from EmailVerificationToken t where t.expiresAt < :cutoff order by t.id")
+    List<Long> findIdsExpiredBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
 }
@@ -0,0 +1,39 @@
+package com.killiann.briefsaas.repository;
+
+import com.killiann.briefsaas.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    @Query("select r from RefreshToken r join fetch r.user where r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // Consommation atomique : une seule rotation gagne si le même jeton est présenté deux fois
+    @Modifying
+    @Query("update RefreshToken r set r.usedAt = :now where r.id = :id and r.usedAt is null and r.revokedAt is null")
+    int markUsed(@Param("id") Long id, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revokedAt = :now where r.sessionId = :sessionId and r.revokedAt is null")
+    int revokeSession(@Param("sessionId") String sessionId, @Param("now") Instant now);
+
+    @Query("""
+            select distinct r.sessionId from RefreshToken r
+            where r.user.id = :userId and r.revokedAt is null and r.expiresAt > :now
+            """)
+    List<String> findActiveSessionIds(@Param("userId") Long userId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.user.id in :userIds")
+    int deleteByUserIdIn(@Param("userIds") List<Long> userIds);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") Instant cutoff);
+}
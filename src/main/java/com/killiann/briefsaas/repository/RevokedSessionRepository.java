@@ -0,0 +1,23 @@
+package com.killiann.briefsaas.repository;
+
+import com.killiann.briefsaas.entity.RevokedSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedSessionRepository extends JpaRepository<RevokedSession, String> {
+    List<RevokedSession> findByExpiresAtAfter(Instant now);
+
+    // Rafraîchissement incrémental du cache de révocation
+    List<RevokedSession> findByRevokedAtGreaterThanEqualAndExpiresAtAfter(Instant since, Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedSession s where s.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") Instant cutoff);
+}
@@ -1,11 +1,49 @@
 package com.killiann.briefsaas.repository;
 
 import com.killiann.briefsaas.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Appelé à chaque requête authentifiée : résultat mis en cache de requête, entité en cache L2
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     Optional<User> findByStripeCustomerId(String customerId);
-}
\ No newline at end of file
+
+    // Comptes jamais vérifiés, sans données ni abonnement, créés avant :cutoff
+    @Query("""
+            select u.id from User u
+            where u.enabled = false and u.deletedAt is null
+              and u.googleId is null and u.stripeCustomerId is null
+              and u.createdAt < :cutoff
+              and not exists (select c.id from Client c where c.owner = u)
+              and not exists (select b.id from Brief b where b.owner = u)
+              and not exists (select a.id from ArchivedBrief a where a.ownerId = u.id)
+            order by u.id
+            """)
+    List<Long> findStaleUnverifiedIds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    // Verrouille ceux qui sont toujours non vérifiés : la vérification (update users) attend la fin du lot,
+    // et un compte déjà verrouillé par une vérification en cours est laissé de côté
+    @Query(value = """
+            select id from users
+            where id in (:ids) and enabled = false
+            for update skip locked
+            """, nativeQuery = true)
+    List<Long> lockUnverified(@Param("ids") List<Long> ids);
+
+    // Condition rejouée : un compte vérifié entre la sélection et la suppression est conservé
+    @Modifying
+    @Query("delete from User u where u.id in :ids and u.enabled = false")
+    int deleteUnverifiedByIdIn(@Param("ids") List<Long> ids);
+}
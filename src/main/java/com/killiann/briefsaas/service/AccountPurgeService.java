@@ -0,0 +1,186 @@
+package com.killiann.briefsaas.service;
+
+import com.killiann.briefsaas.entity.AccountPurge;
+import com.killiann.briefsaas.entity.User;
+import com.killiann.briefsaas.repository.AccountPurgeRepository;
+import com.killiann.briefsaas.repository.ArchivedBriefRepository;
+import com.killiann.briefsaas.repository.BriefRepository;
+import com.killiann.briefsaas.repository.BriefRevisionRepository;
+import com.killiann.briefsaas.repository.ClientRepository;
+import com.killiann.briefsaas.repository.EmailVerificationTokenRepository;
+import com.killiann.briefsaas.repository.RefreshTokenRepository;
+import com.killiann.briefsaas.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Suppression de compte en deux temps : le compte est marqué supprimé dans la requête
+ * (sessions révoquées), puis ses données sont effacées en arrière-plan par lots (DELETE
+ * ensemblistes, une transaction courte par lot et par passage). La progression est enregistrée
+ * dans account_purges ; une purge interrompue reprend au passage suivant.
+ */
+@Service
+public class AccountPurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountPurgeService.class);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofDays(1);
+
+    private final AccountPurgeRepository accountPurgeRepository;
+    private final UserRepository userRepository;
+    private final BriefRepository briefRepository;
+    private final ArchivedBriefRepository archivedBriefRepository;
+    private final BriefRevisionRepository briefRevisionRepository;
+    private final ClientRepository clientRepository;
+    private final EmailVerificationTokenRepository emailTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final AttachmentService attachmentService;
+    private final TokenService tokenService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public AccountPurgeService(AccountPurgeRepository accountPurgeRepository,
+                               UserRepository userRepository,
+                               BriefRepository briefRepository,
+                               ArchivedBriefRepository archivedBriefRepository,
+                               BriefRevisionRepository briefRevisionRepository,
+                               ClientRepository clientRepository,
+                               EmailVerificationTokenRepository emailTokenRepository,
+                               RefreshTokenRepository refreshTokenRepository,
+                               AttachmentService attachmentService,
+                               TokenService tokenService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.account-purge.chunk-size:500}") int chunkSize,
+                               @Value("${app.account-purge.max-attempts:10}") int maxAttempts,
+                               @Value("${app.account-purge.retry-backoff:PT1M}") Duration retryBackoff) {
+        this.accountPurgeRepository = accountPurgeRepository;
+        this.userRepository = userRepository;
+        this.briefRepository = briefRepository;
+        this.archivedBriefRepository = archivedBriefRepository;
+        this.briefRevisionRepository = briefRevisionRepository;
+        this.clientRepository = clientRepository;
+        this.emailTokenRepository = emailTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.attachmentService = attachmentService;
+        this.tokenService = tokenService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+    }
+
+    @Transactional
+    public AccountPurge requestDeletion(User user) {
+        Instant now = Instant.now();
+        user.setDeletedAt(now);
+        userRepository.save(user);
+        // Les jetons déjà émis ne doivent pas survivre au compte
+        tokenService.revokeAllSessions(user);
+
+        return accountPurgeRepository.save(AccountPurge.builder()
+                .userId(user.getId())
+                .requestedAt(now)
+                .build());
+    }
+
+    /**
+     * Un lot par passage : la purge est réservée (FOR UPDATE SKIP LOCKED) dans la transaction qui
+     * supprime le lot, deux instances ne traitent donc jamais le même compte en même temps.
+     */
+    @Scheduled(fixedDelayString = "${app.account-purge.interval:PT10S}")
+    public void purgePending() {
+        AtomicReference<AccountPurge> claimed = new AtomicReference<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> accountPurgeRepository.claimNext(Instant.now(), maxAttempts)
+                    .ifPresent(purge -> {
+                        claimed.set(purge);
+                        purgeChunk(purge);
+                    }));
+        } catch (RuntimeException e) {
+            AccountPurge purge = claimed.get();
+            if (purge == null) {
+                throw e;
+            }
+            recordFailure(purge, e);
+        }
+    }
+
+    /*
+     * Échec d'un lot (transaction annulée) : tentative comptée, puis prochaine tentative repoussée
+     * (délai doublé à chaque échec, au plus un jour). Le message, tronqué, est enregistré à part.
+     */
+    private void recordFailure(AccountPurge purge, RuntimeException failure) {
+        int attempts = purge.getAttempts() + 1;
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        Instant retryAt = Instant.now().plus(delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay);
+        if (attempts >= maxAttempts) {
+            log.error("Account purge {} (user {}) abandoned after {} attempts", purge.getId(), purge.getUserId(), attempts, failure);
+        } else {
+            log.error("Account purge {} (user {}) failed, retry at {}", purge.getId(), purge.getUserId(), retryAt, failure);
+        }
+        transactionTemplate.executeWithoutResult(status -> accountPurgeRepository.recordFailedAttempt(purge.getId(), retryAt));
+
+        String message = String.valueOf(failure);
+        String error = message.length() > AccountPurge.LAST_ERROR_LENGTH
+                ? message.substring(0, AccountPurge.LAST_ERROR_LENGTH) : message;
+        try {
+            transactionTemplate.executeWithoutResult(status -> accountPurgeRepository.recordError(purge.getId(), error));
+        } catch (RuntimeException e) {
+            log.warn("Could not record the error of account purge {}", purge.getId(), e);
+        }
+    }
+
+    // Briefs d'abord (table chaude puis stockage froid), puis clients, jetons et compte ; compteurs = lignes supprimées
+    private void purgeChunk(AccountPurge purge) {
+        Long userId = purge.getUserId();
+        if (purge.getStartedAt() == null) {
+            purge.setStartedAt(Instant.now());
+        }
+
+        List<Long> ids = briefRepository.findIdsByOwnerId(userId, Limit.of(chunkSize));
+        if (!ids.isEmpty()) {
+            briefRevisionRepository.deleteByBriefIdIn(ids);
+            attachmentService.deleteForBriefs(ids);
+            purge.setBriefsDeleted(purge.getBriefsDeleted() + briefRepository.deleteByIdIn(ids));
+            return;
+        }
+        ids = archivedBriefRepository.findIdsByOwnerId(userId, Limit.of(chunkSize));
+        if (!ids.isEmpty()) {
+            briefRevisionRepository.deleteByBriefIdIn(ids);
+            attachmentService.deleteForBriefs(ids);
+            purge.setBriefsDeleted(purge.getBriefsDeleted() + archivedBriefRepository.deleteByIdIn(ids));
+            return;
+        }
+        ids = clientRepository.findIdsByOwnerId(userId, Limit.of(chunkSize));
+        if (!ids.isEmpty()) {
+            purge.setClientsDeleted(purge.getClientsDeleted() + clientRepository.deleteByIdIn(ids));
+            return;
+        }
+
+        purge.setTokensDeleted(purge.getTokensDeleted()
+                + emailTokenRepository.deleteByUserId(userId)
+                + refreshTokenRepository.deleteByUserIdIn(List.of(userId)));
+        userRepository.deleteAllByIdInBatch(List.of(userId));
+        purge.setCompletedAt(Instant.now());
+
+        log.info("Account purge {} done: {} briefs, {} clients, {} tokens",
+                purge.getId(), purge.getBriefsDeleted(), purge.getClientsDeleted(), purge.getTokensDeleted());
+    }
+
+    public List<AccountPurge> recentPurges() {
+        return accountPurgeRepository.findTop50ByOrderByRequestedAtDesc();
+    }
+}
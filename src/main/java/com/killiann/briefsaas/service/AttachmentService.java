@@ -0,0 +1,362 @@
+package com.killiann.briefsaas.service;
+
+import com.killiann.briefsaas.dto.AttachmentDto;
+import com.killiann.briefsaas.dto.AttachmentUploadRequest;
+import com.killiann.briefsaas.dto.AttachmentUploadResponse;
+import com.killiann.briefsaas.entity.ArchivedBrief;
+import com.killiann.briefsaas.entity.AttachmentUpload;
+import com.killiann.briefsaas.entity.Brief;
+import com.killiann.briefsaas.entity.BriefAttachment;
+import com.killiann.briefsaas.entity.User;
+import com.killiann.briefsaas.exception.BadRequestException;
+import com.killiann.briefsaas.exception.NotFoundException;
+import com.killiann.briefsaas.repository.ArchivedBriefRepository;
+import com.killiann.briefsaas.repository.AttachmentUploadRepository;
+import com.killiann.briefsaas.repository.BriefAttachmentRepository;
+import com.killiann.briefsaas.repository.BriefRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Pièces jointes des briefs. Un envoi se fait en plusieurs morceaux, repris à l'offset reçu ;
+ * le flux de la requête est écrit directement dans le stockage, sans transaction ouverte
+ * pendant la copie. À la fin de l'envoi le contenu est haché (SHA-256) et dédupliqué.
+ *
+ * <p>Un objet peut être partagé par plusieurs pièces jointes : son rangement (avec l'insertion de la
+ * ligne) et sa suppression se font sous un verrou consultatif PostgreSQL par SHA-256.
+ */
+@Service
+public class AttachmentService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentService.class);
+
+    private final AttachmentStorage storage;
+    private final BriefAttachmentRepository attachmentRepository;
+    private final AttachmentUploadRepository uploadRepository;
+    private final BriefRepository briefRepository;
+    private final ArchivedBriefRepository archivedBriefRepository;
+    private final TransactionTemplate transactionTemplate;
+    // afterCommit : la transaction terminée est encore liée au thread, il en faut une nouvelle
+    private final TransactionTemplate releaseTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxSize;
+    private final int maxPerBrief;
+    private final int maxOpenUploads;
+    private final Duration uploadTtl;
+
+    public AttachmentService(AttachmentStorage storage,
+                             BriefAttachmentRepository attachmentRepository,
+                             AttachmentUploadRepository uploadRepository,
+                             BriefRepository briefRepository,
+                             ArchivedBriefRepository archivedBriefRepository,
+                             PlatformTransactionManager transactionManager,
+                             JdbcTemplate jdbcTemplate,
+                             @Value("${app.attachments.max-size:25MB}") DataSize maxSize,
+                             @Value("${app.attachments.max-per-brief:20}") int maxPerBrief,
+                             @Value("${app.attachments.max-open-uploads:10}") int maxOpenUploads,
+                             @Value("${app.attachments.upload-ttl:P1D}") Duration uploadTtl) {
+        this.storage = storage;
+        this.attachmentRepository = attachmentRepository;
+        this.uploadRepository = uploadRepository;
+        this.briefRepository = briefRepository;
+        this.archivedBriefRepository = archivedBriefRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.releaseTemplate = new TransactionTemplate(transactionManager);
+        this.releaseTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxSize = maxSize.toBytes();
+        this.maxPerBrief = maxPerBrief;
+        this.maxOpenUploads = maxOpenUploads;
+        this.uploadTtl = uploadTtl;
+    }
+
+    @Transactional
+    public AttachmentUploadResponse startUpload(Long briefId, AttachmentUploadRequest request, User user) {
+        checkOwner(briefId, user);
+        if (request.getSize() <= 0 || request.getSize() > maxSize) {
+            throw new BadRequestException("Attachment size must be between 1 and " + maxSize + " bytes");
+        }
+        // Les envois en cours comptent : sinon autant d'envois que voulu peuvent dépasser la limite
+        if (attachmentRepository.countByBriefId(briefId) + uploadRepository.countByBriefId(briefId) >= maxPerBrief) {
+            throw new BadRequestException("A brief can have at most " + maxPerBrief + " attachments");
+        }
+        if (uploadRepository.countByOwnerId(user.getId()) >= maxOpenUploads) {
+            throw new BadRequestException("At most " + maxOpenUploads + " uploads can be in progress");
+        }
+
+        AttachmentUpload upload = uploadRepository.save(AttachmentUpload.builder()
+                .id(UUID.randomUUID())
+                .briefId(briefId)
+                .ownerId(user.getId())
+                .filename(sanitizeFilename(request.getFilename()))
+                .contentType(sanitizeContentType(request.getContentType()))
+                .size(request.getSize())
+                .createdAt(Instant.now())
+                .build());
+        return AttachmentUploadResponse.builder().uploadId(upload.getId()).offset(0).size(upload.getSize()).build();
+    }
+
+    public AttachmentUploadResponse uploadStatus(Long briefId, UUID uploadId, User user) {
+        AttachmentUpload upload = findUpload(briefId, uploadId, user);
+        return AttachmentUploadResponse.builder()
+                .uploadId(uploadId)
+                .offset(stagedSize(upload))
+                .size(upload.getSize())
+                .build();
+    }
+
+    /**
+     * Écrit un morceau à {@code offset} (409 si ce n'est pas la taille déjà reçue). Le dernier morceau
+     * termine l'envoi : la réponse porte alors la pièce jointe créée.
+     */
+    public AttachmentUploadResponse appendChunk(Long briefId, UUID uploadId, long offset, InputStream body, User user) {
+        AttachmentUpload upload = findUpload(briefId, uploadId, user);
+        long received;
+        try {
+            received = storage.append(uploadId.toString(), offset, body, upload.getSize() - offset);
+            if (received == upload.getSize() && body.read() != -1) {
+                throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Chunk exceeds the declared size");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        AttachmentUploadResponse.AttachmentUploadResponseBuilder response = AttachmentUploadResponse.builder()
+                .uploadId(uploadId)
+                .offset(received)
+                .size(upload.getSize());
+        if (received == upload.getSize()) {
+            response.attachment(complete(upload));
+        }
+        return response.build();
+    }
+
+    public void cancelUpload(Long briefId, UUID uploadId, User user) {
+        AttachmentUpload upload = findUpload(briefId, uploadId, user);
+        uploadRepository.delete(upload);
+        discardQuietly(upload);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AttachmentDto> listAttachments(Long briefId, User user) {
+        checkOwner(briefId, user);
+        return listForBrief(briefId);
+    }
+
+    // Vue publique : l'accès au brief est déjà contrôlé par l'appelant
+    public List<AttachmentDto> listForBrief(Long briefId) {
+        return attachmentRepository.findByBriefIdOrderById(briefId).stream()
+                .map(this::mapAttachment)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public BriefAttachment getAttachment(Long briefId, Long attachmentId, User user) {
+        checkOwner(briefId, user);
+        return attachmentRepository.findByIdAndBriefId(attachmentId, briefId)
+                .orElseThrow(() -> new NotFoundException("Attachment not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public BriefAttachment getPublicAttachment(UUID publicUuid, Long attachmentId) {
+        Long briefId = briefRepository.findByPublicUuidAndOwnerDeletedAtIsNull(publicUuid).map(Brief::getId)
+                .or(() -> archivedBriefRepository.findPublic(publicUuid).map(ArchivedBrief::getId))
+                .orElseThrow(() -> new NotFoundException("Public brief not found"));
+        return attachmentRepository.findByIdAndBriefId(attachmentId, briefId)
+                .orElseThrow(() -> new NotFoundException("Attachment not found"));
+    }
+
+    @Transactional
+    public void deleteAttachment(Long briefId, Long attachmentId, User user) {
+        BriefAttachment attachment = getAttachment(briefId, attachmentId, user);
+        attachmentRepository.delete(attachment);
+        releaseAfterCommit(List.of(attachment.getSha256()));
+    }
+
+    /** Suppression de briefs (unitaire ou purge de compte) : pièces jointes, envois en cours, objets orphelins. */
+    @Transactional
+    public void deleteForBriefs(Collection<Long> briefIds) {
+        List<String> shas = attachmentRepository.findShasByBriefIdIn(briefIds);
+        attachmentRepository.deleteByBriefIdIn(briefIds);
+        List<AttachmentUpload> uploads = uploadRepository.findByBriefIdIn(briefIds);
+        uploadRepository.deleteAllInBatch(uploads);
+        uploads.forEach(this::discardQuietly);
+        releaseAfterCommit(shas);
+    }
+
+    public long transferTo(BriefAttachment attachment, long position, long count, WritableByteChannel target) throws IOException {
+        return storage.transferTo(attachment.getSha256(), position, count, target);
+    }
+
+    public Optional<Path> localPath(BriefAttachment attachment) {
+        return storage.localPath(attachment.getSha256());
+    }
+
+    @Scheduled(fixedDelayString = "${app.attachments.cleanup-interval:PT1H}")
+    public void purgeStaleUploads() {
+        List<AttachmentUpload> stale = uploadRepository.findByCreatedAtBefore(Instant.now().minus(uploadTtl), Limit.of(500));
+        if (stale.isEmpty()) {
+            return;
+        }
+        uploadRepository.deleteAllInBatch(stale);
+        stale.forEach(this::discardQuietly);
+        log.info("Discarded {} stale attachment uploads", stale.size());
+    }
+
+    // Hachage hors transaction ; rangement de l'objet et insertion de la ligne sous le verrou du SHA-256
+    private AttachmentDto complete(AttachmentUpload upload) {
+        String uploadId = upload.getId().toString();
+        String sha256;
+        try {
+            sha256 = storage.digest(uploadId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        BriefAttachment attachment = transactionTemplate.execute(status -> {
+            lockObject(sha256);
+            try {
+                storage.commit(uploadId, sha256);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            uploadRepository.delete(upload);
+            return attachmentRepository.save(BriefAttachment.builder()
+                    .briefId(upload.getBriefId())
+                    .filename(upload.getFilename())
+                    .contentType(upload.getContentType())
+                    .size(upload.getSize())
+                    .sha256(sha256)
+                    .createdAt(Instant.now())
+                    .build());
+        });
+        return mapAttachment(attachment);
+    }
+
+    /*
+     * Objets supprimés après commit, seulement s'ils ne sont plus référencés (déduplication).
+     * Le contrôle et la suppression se font sous le verrou du SHA-256 : un envoi qui range le même
+     * contenu au même moment attend, puis recrée l'objet ; ou bien sa ligne est déjà visible.
+     */
+    private void releaseAfterCommit(List<String> shas) {
+        if (shas.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (String sha256 : shas) {
+                    try {
+                        releaseTemplate.executeWithoutResult(status -> {
+                            lockObject(sha256);
+                            if (!attachmentRepository.existsBySha256(sha256)) {
+                                try {
+                                    storage.delete(sha256);
+                                } catch (IOException e) {
+                                    throw new UncheckedIOException(e);
+                                }
+                            }
+                        });
+                    } catch (RuntimeException e) {
+                        log.warn("Could not delete attachment object {}", sha256, e);
+                    }
+                }
+            }
+        });
+    }
+
+    // Verrou libéré au commit de la transaction courante
+    private void lockObject(String sha256) {
+        jdbcTemplate.query("select pg_advisory_xact_lock(hashtext(?))", rs -> {
+        }, sha256);
+    }
+
+    private AttachmentUpload findUpload(Long briefId, UUID uploadId, User user) {
+        return uploadRepository.findByIdAndBriefIdAndOwnerId(uploadId, briefId, user.getId())
+                .orElseThrow(() -> new NotFoundException("Upload not found"));
+    }
+
+    private long stagedSize(AttachmentUpload upload) {
+        try {
+            return storage.stagedSize(upload.getId().toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void discardQuietly(AttachmentUpload upload) {
+        try {
+            storage.discard(upload.getId().toString());
+        } catch (IOException e) {
+            log.warn("Could not discard upload {}", upload.getId(), e);
+        }
+    }
+
+    private void checkOwner(Long briefId, User user) {
+        if (!briefRepository.existsInAnyTier(briefId, user.getId())) {
+            throw new NotFoundException("Brief not found");
+        }
+    }
+
+    private static String sanitizeFilename(String filename) {
+        if (filename == null || filename.isBlank()) {
+            return "attachment";
+        }
+        String name = filename.substring(Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\')) + 1)
+                .replaceAll("\\p{Cntrl}", "")
+                .strip();
+        if (name.isEmpty()) {
+            return "attachment";
+        }
+        return name.length() > 255 ? name.substring(name.length() - 255) : name;
+    }
+
+    private static String sanitizeContentType(String contentType) {
+        try {
+            MediaType type = MediaType.parseMediaType(contentType);
+            if (!type.isWildcardType() && !type.isWildcardSubtype() && type.toString().length() <= 100) {
+                return type.toString();
+            }
+        } catch (InvalidMediaTypeException e) {
+            // type absent ou invalide : contenu binaire générique
+        }
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    private AttachmentDto mapAttachment(BriefAttachment attachment) {
+        return AttachmentDto.builder()
+                .id(attachment.getId())
+                .filename(attachment.getFilename())
+                .contentType(attachment.getContentType())
+                .size(attachment.getSize())
+                .createdAt(attachment.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.killiann.briefsaas.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Stockage des pièces jointes : une zone de dépôt pour les envois en cours, repris à la taille
+ * déjà reçue, puis des objets immuables adressés par leur SHA-256 (contenu identique stocké une fois).
+ */
+public interface AttachmentStorage {
+
+    /** Octets déjà reçus pour l'envoi (0 s'il n'a pas commencé). */
+    long stagedSize(String uploadId) throws IOException;
+
+    /**
+     * Ajoute au plus {@code maxBytes} octets du flux à l'envoi. {@code offset} doit être la taille déjà
+     * reçue ({@link com.killiann.briefsaas.exception.ConflictException} sinon, ou si un morceau est en cours).
+     * Renvoie la nouvelle taille reçue.
+     */
+    long append(String uploadId, long offset, InputStream in, long maxBytes) throws IOException;
+
+    /** SHA-256 (hexadécimal) de l'envoi terminé, sans le déplacer. */
+    String digest(String uploadId) throws IOException;
+
+    /** Range l'envoi terminé parmi les objets sous {@code sha256}, calculé par {@link #digest}. */
+    void commit(String uploadId, String sha256) throws IOException;
+
+    /** Range l'envoi terminé parmi les objets et renvoie son SHA-256 (hexadécimal). */
+    default String commit(String uploadId) throws IOException {
+        String sha256 = digest(uploadId);
+        commit(uploadId, sha256);
+        return sha256;
+    }
+
+    void discard(String uploadId) throws IOException;
+
+    void delete(String sha256) throws IOException;
+
+    /** Écrit {@code count} octets de l'objet à partir de {@code position} ; renvoie le nombre écrit. */
+    long transferTo(String sha256, long position, long count, WritableByteChannel target) throws IOException;
+
+    /** Fichier local de l'objet, quand le stockage en a un (envoi par sendfile). */
+    default Optional<Path> localPath(String sha256) {
+        return Optional.empty();
+    }
+}
@@ -1,9 +1,6 @@
 package com.killiann.briefsaas.service;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
 import com.killiann.briefsaas.dto.AuthResponse;
 import com.killiann.briefsaas.dto.LoginRequest;
 import com.killiann.briefsaas.dto.SignupRequest;
@@ -13,20 +10,21 @@ import com.killiann.briefsaas.entity.User;
 import com.killiann.briefsaas.repository.UserRepository;
 import com.killiann.briefsaas.repository.EmailVerificationTokenRepository;
 import com.killiann.briefsaas.util.DisposableEmailChecker;
+import com.killiann.briefsaas.util.GoogleTokenVerifier;
 import com.killiann.briefsaas.util.JwtUtil;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -37,18 +35,18 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
+    private final TokenService tokenService;
+    private final PasswordHashingService passwordHashingService;
     private final EmailVerificationTokenRepository emailTokenRepository;
 
-    @Value("${google.client.id}")
-    private String googleClientId;
-
     private final MailService mailService;
     private final DisposableEmailChecker disposableEmailChecker;
+    private final ObjectProvider<GoogleTokenVerifier> googleTokenVerifier;
 
     @Transactional
     public AuthResponse signup(SignupRequest request) {
         if (userRepository.findByEmail(request.getEmail()).isPresent()) {
+            // Y compris un compte en attente de purge : l'email se libère une fois la purge terminée
             throw new RuntimeException("Email already in use");
         }
 
@@ -58,7 +56,7 @@ public class AuthService {
 
         User user = User.builder()
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingService.hash(request.getPassword()))
                 .firstname(request.getFirstname())
                 .lastname(request.getLastname())
                 .profileImage(request.getProfileImage())
@@ -68,35 +66,68 @@ public class AuthService {
 
         userRepository.save(user);
 
-        String _token = UUID.randomUUID().toString();
-        EmailVerificationToken verificationToken = new EmailVerificationToken();
-        verificationToken.setToken(_token);
-        verificationToken.setUser(user);
-        verificationToken.setExpiresAt(LocalDateTime.now().plusHours(24));
-        emailTokenRepository.save(verificationToken);
-
-        mailService.sendVerificationEmail(user, _token);
+        mailService.sendVerificationEmail(user, jwtUtil.generateEmailVerificationToken(user.getId(), user.getEmail()));
 
-        String token = jwtUtil.generateToken(user.getEmail());
-
-        return new AuthResponse(token);
+        return tokenService.issue(user);
     }
 
     public AuthResponse login(LoginRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
+                .filter(u -> !u.isDeleted())
                 .orElseThrow(() -> new RuntimeException("Invalid credentials"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Invalid credentials");
         }
 
-        String token = jwtUtil.generateToken(user.getEmail());
+        // Hash produit avec un coût inférieur au coût actuel : on le met à niveau
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHashingService.hash(request.getPassword()));
+            userRepository.save(user);
+        }
 
-        return new AuthResponse(token);
+        return tokenService.issue(user);
     }
 
     @Transactional
     public AuthResponse verifyEmail(String token) {
+        User user = isLegacyVerificationToken(token)
+                ? consumeLegacyVerificationToken(token)
+                : resolveVerificationToken(token);
+
+        user.setEnabled(true);
+        userRepository.save(user);
+
+        return new AuthResponse(token);
+    }
+
+    // Jeton signé : aucune lecture de table de jetons, seulement le compte concerné
+    private User resolveVerificationToken(String token) {
+        JwtUtil.EmailVerificationClaims claims;
+        try {
+            claims = jwtUtil.parseEmailVerificationToken(token);
+        } catch (ExpiredJwtException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Token expiré");
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Token invalide ou expiré");
+        }
+
+        return userRepository.findById(claims.userId())
+                .filter(u -> !u.isDeleted() && u.getEmail().equals(claims.email()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Token invalide ou expiré"));
+    }
+
+    // Liens envoyés avant les jetons signés (UUID en base) : acceptés jusqu'à leur expiration
+    private static boolean isLegacyVerificationToken(String token) {
+        try {
+            UUID.fromString(token);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private User consumeLegacyVerificationToken(String token) {
         EmailVerificationToken verificationToken = emailTokenRepository.findByToken(token)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Token invalide ou expiré"));
 
@@ -104,26 +135,16 @@ public class AuthService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Token expiré");
         }
 
-        User user = verificationToken.getUser();
-        user.setEnabled(true);
-        userRepository.save(user);
-
-        return new AuthResponse(token);
+        emailTokenRepository.delete(verificationToken);
+        return verificationToken.getUser();
     }
 
     public AuthResponse googleLogin(Map<String, String> body) {
         String idToken = body.get("idToken");
 
         try {
-            // Vérifier et décoder le token Google
-            GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(
-                    new NetHttpTransport(),
-                    new GsonFactory()
-            )
-                    .setAudience(Collections.singletonList(googleClientId))
-                    .build();
-
-            GoogleIdToken googleIdToken = verifier.verify(idToken);
+            // Vérifier et décoder le token Google (clés publiques en cache)
+            GoogleIdToken googleIdToken = googleTokenVerifier.getObject().verify(idToken);
 
             if (googleIdToken == null) {
                 throw new IllegalArgumentException("Token Google invalide");
@@ -144,6 +165,9 @@ public class AuthService {
             User user;
             if (existingUser.isPresent()) {
                 user = existingUser.get();
+                if (user.isDeleted()) {
+                    throw new IllegalArgumentException("Compte en cours de suppression");
+                }
 
                 // Mettre à jour les informations Google si nécessaire
                 if (user.getGoogleId() == null) {
@@ -164,16 +188,14 @@ public class AuthService {
                 user.setProfileImage(profileImage);
                 user.setGoogleId(googleId);
                 user.setEnabled(true); // Google vérifie déjà l'email
-                user.setPassword(passwordEncoder.encode(UUID.randomUUID().toString())); // Mot de passe aléatoire
+                user.setPassword(PasswordHashingService.UNUSABLE_PASSWORD); // Pas de mot de passe local
                 user.setCreatedAt(LocalDateTime.now());
 
                 user = userRepository.save(user);
             }
 
-            // Générer le JWT
-            String jwt = jwtUtil.generateToken(user.getEmail());
-
-            return new AuthResponse(jwt);
+            // Ouvrir une session (jeton d'accès + jeton de rafraîchissement)
+            return tokenService.issue(user);
 
         } catch (GeneralSecurityException | IOException e) {
             throw new RuntimeException("Erreur lors de la vérification du token Google", e);
@@ -0,0 +1,274 @@
+package com.killiann.briefsaas.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.killiann.briefsaas.dto.BriefSummary;
+import com.killiann.briefsaas.entity.ArchivedBrief;
+import com.killiann.briefsaas.entity.Brief;
+import com.killiann.briefsaas.entity.BriefStatus;
+import com.killiann.briefsaas.repository.ArchivedBriefRepository;
+import com.killiann.briefsaas.repository.BriefRepository;
+import com.killiann.briefsaas.repository.ClientRepository;
+import com.killiann.briefsaas.repository.UserRepository;
+import com.killiann.briefsaas.util.DeltaCodec;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Stockage froid des briefs : les briefs archivés, et validés depuis plus de validated-after, quittent
+ * la table briefs (et ses index) pour briefs_archive, contenu compressé. Ils restent lisibles tels quels ;
+ * toute écriture les restaure d'abord dans la table chaude, avec leur identifiant d'origine.
+ */
+@Service
+public class BriefArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(BriefArchiveService.class);
+
+    private static final String RESTORE_SQL = """
+            insert into briefs (id, title, description, objectives, target_audience, budget, deadline, deliverables,
+                constraints, client_id, client_validated, validation_code, validated_at, public_uuid, status,
+                created_at, updated_at, user_id)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    /** Contenu compressé d'un brief froid : tout ce qui n'est pas affiché dans les listes. */
+    public record ColdContent(String description, List<String> objectives, String targetAudience, String budget,
+                              List<String> deliverables, String constraints, String validationCode) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final BriefRepository briefRepository;
+    private final ArchivedBriefRepository archivedBriefRepository;
+    private final ClientRepository clientRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration validatedAfter;
+    private final int chunkSize;
+
+    public BriefArchiveService(BriefRepository briefRepository,
+                               ArchivedBriefRepository archivedBriefRepository,
+                               ClientRepository clientRepository,
+                               UserRepository userRepository,
+                               JdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.brief-archive.validated-after:P180D}") Duration validatedAfter,
+                               @Value("${app.brief-archive.chunk-size:200}") int chunkSize) {
+        this.briefRepository = briefRepository;
+        this.archivedBriefRepository = archivedBriefRepository;
+        this.clientRepository = clientRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validatedAfter = validatedAfter;
+        this.chunkSize = chunkSize;
+    }
+
+    // Une transaction courte par lot, comme la purge de comptes
+    @Scheduled(fixedDelayString = "${app.brief-archive.interval:PT1H}")
+    public void archiveCold() {
+        LocalDateTime validatedBefore = LocalDateTime.now().minus(validatedAfter);
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status ->
+                    archive(briefRepository.findColdIds(validatedBefore, Limit.of(chunkSize)), validatedBefore));
+            total += moved;
+        } while (moved == chunkSize);
+        if (total > 0) {
+            log.info("Moved {} briefs to cold storage", total);
+        }
+    }
+
+    /** Archive tout de suite un brief passé au statut ARCHIVED (transaction de l'appelant). */
+    @Transactional
+    public void archiveNow(Long briefId) {
+        archive(List.of(briefId), LocalDateTime.now().minus(validatedAfter));
+    }
+
+    // Lignes verrouillées puis revérifiées : une modification concurrente n'est pas écrasée par la copie froide
+    private int archive(List<Long> ids, LocalDateTime validatedBefore) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Brief> briefs = briefRepository.findAllForArchive(ids).stream()
+                .filter(b -> b.getStatus() == BriefStatus.ARCHIVED || (b.getStatus() == BriefStatus.VALIDATED
+                        && b.getValidatedAt() != null && b.getValidatedAt().isBefore(validatedBefore)))
+                .toList();
+        if (briefs.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        for (Brief brief : briefs) {
+            entityManager.persist(toArchived(brief, now));
+        }
+        entityManager.flush();
+        briefRepository.deleteAllByIdInBatch(briefs.stream().map(Brief::getId).toList());
+        briefs.forEach(entityManager::detach);
+        return briefs.size();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Brief> findArchived(Long id, Long ownerId) {
+        return archivedBriefRepository.findByIdAndOwnerId(id, ownerId).map(this::toBrief);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Brief> findArchivedByPublicUuid(UUID uuid) {
+        return archivedBriefRepository.findPublic(uuid).map(this::toBrief);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Brief> findArchivedByIds(Collection<Long> ids, Long ownerId) {
+        return archivedBriefRepository.findByIdInAndOwnerId(ids, ownerId).stream().map(this::toBrief).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<BriefSummary> findArchivedSummaries(Long ownerId, BriefStatus status, Pageable pageable) {
+        return archivedBriefRepository.findSummariesByOwnerId(ownerId, status, pageable);
+    }
+
+    public long countArchived(Long ownerId) {
+        return archivedBriefRepository.countByOwnerId(ownerId);
+    }
+
+    /**
+     * Remet le brief dans la table chaude (même id, même lien public) et supprime sa copie froide.
+     * Renvoie false si le brief n'est pas dans le stockage froid de ce propriétaire.
+     */
+    @Transactional
+    public boolean restore(Long id, Long ownerId) {
+        Optional<ArchivedBrief> found = archivedBriefRepository.findForRestore(id, ownerId);
+        if (found.isEmpty()) {
+            return false;
+        }
+        ArchivedBrief archived = found.get();
+        ColdContent content = decode(archived);
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(RESTORE_SQL);
+            ps.setLong(1, archived.getId());
+            ps.setString(2, archived.getTitle());
+            ps.setString(3, content.description());
+            ps.setArray(4, content.objectives() == null ? null : con.createArrayOf("varchar", content.objectives().toArray()));
+            ps.setString(5, content.targetAudience());
+            ps.setString(6, content.budget());
+            ps.setDate(7, archived.getDeadline() == null ? null : Date.valueOf(archived.getDeadline()));
+            ps.setArray(8, content.deliverables() == null ? null : con.createArrayOf("varchar", content.deliverables().toArray()));
+            ps.setString(9, content.constraints());
+            ps.setObject(10, archived.getClientId());
+            ps.setObject(11, archived.getClientValidated());
+            ps.setString(12, content.validationCode());
+            ps.setTimestamp(13, archived.getValidatedAt() == null ? null : Timestamp.valueOf(archived.getValidatedAt()));
+            ps.setObject(14, archived.getPublicUuid());
+            ps.setString(15, archived.getStatus() == null ? null : archived.getStatus().name());
+            ps.setTimestamp(16, archived.getCreatedAt() == null ? null : Timestamp.valueOf(archived.getCreatedAt()));
+            ps.setTimestamp(17, archived.getUpdatedAt() == null ? null : Timestamp.valueOf(archived.getUpdatedAt()));
+            ps.setLong(18, archived.getOwnerId());
+            return ps;
+        });
+        archivedBriefRepository.delete(archived);
+        archivedBriefRepository.flush();
+        log.info("Brief {} restored from cold storage", id);
+        return true;
+    }
+
+    /** Restauration depuis le lien public (validation par le client d'un brief froid). */
+    @Transactional
+    public boolean restoreByPublicUuid(UUID uuid) {
+        return archivedBriefRepository.findPublic(uuid)
+                .map(archived -> restore(archived.getId(), archived.getOwnerId()))
+                .orElse(false);
+    }
+
+    @Transactional
+    public boolean deleteArchived(Long id, Long ownerId) {
+        return archivedBriefRepository.deleteByIdAndOwnerId(id, ownerId) > 0;
+    }
+
+    private ArchivedBrief toArchived(Brief brief, Instant now) {
+        ColdContent content = new ColdContent(brief.getDescription(), brief.getObjectives(), brief.getTargetAudience(),
+                brief.getBudget(), brief.getDeliverables(), brief.getConstraints(), brief.getValidationCode());
+        byte[] payload;
+        try {
+            payload = DeltaCodec.deflate(objectMapper.writeValueAsBytes(content));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ArchivedBrief.builder()
+                .id(brief.getId())
+                .ownerId(brief.getOwner().getId())
+                .clientId(brief.getClient() != null ? brief.getClient().getId() : null)
+                .publicUuid(brief.getPublicUuid())
+                .title(brief.getTitle())
+                .status(brief.getStatus())
+                .deadline(brief.getDeadline())
+                .clientValidated(brief.getClientValidated())
+                .validatedAt(brief.getValidatedAt())
+                .createdAt(brief.getCreatedAt())
+                .updatedAt(brief.getUpdatedAt())
+                .archivedAt(now)
+                .payload(payload)
+                .build();
+    }
+
+    private ColdContent decode(ArchivedBrief archived) {
+        try {
+            return objectMapper.readValue(DeltaCodec.inflate(archived.getPayload()), ColdContent.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Brief détaché, en lecture seule : jamais sauvegardé tel quel (une écriture passe par restore)
+    private Brief toBrief(ArchivedBrief archived) {
+        ColdContent content = decode(archived);
+        return Brief.builder()
+                .id(archived.getId())
+                .title(archived.getTitle())
+                .description(content.description())
+                .objectives(content.objectives())
+                .targetAudience(content.targetAudience())
+                .budget(content.budget())
+                .deadline(archived.getDeadline())
+                .deliverables(content.deliverables())
+                .constraints(content.constraints())
+                .client(archived.getClientId() != null ? clientRepository.findById(archived.getClientId()).orElse(null) : null)
+                .clientValidated(archived.getClientValidated())
+                .validationCode(content.validationCode())
+                .validatedAt(archived.getValidatedAt())
+                .publicUuid(archived.getPublicUuid())
+                .status(archived.getStatus())
+                .createdAt(archived.getCreatedAt())
+                .updatedAt(archived.getUpdatedAt())
+                .owner(userRepository.getReferenceById(archived.getOwnerId()))
+                .build();
+    }
+}
@@ -0,0 +1,267 @@
+package com.killiann.briefsaas.service;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.killiann.briefsaas.dto.BriefResponse;
+import com.killiann.briefsaas.entity.User;
+import com.killiann.briefsaas.exception.ForbiddenException;
+import com.killiann.briefsaas.exception.NotFoundException;
+import com.killiann.briefsaas.repository.BriefRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sauvegarde automatique des brouillons : les patchs successifs d'un même brief sont fusionnés
+ * en mémoire (RFC 7396 : le plus récent l'emporte champ par champ) puis écrits en un seul UPDATE,
+ * après {@code debounce} sans nouvelle saisie, au plus tard {@code max-delay} après la première,
+ * ou immédiatement lors d'une sauvegarde explicite.
+ *
+ * <p>Les modifications en attente sont propres à l'instance qui les reçoit ; elles sont écrites
+ * à l'arrêt de l'application. Une écriture qui échoue pour une raison passagère (base indisponible,
+ * conflit de verrou...) est retentée avec un délai croissant, au plus {@code max-retries} fois ; seul un
+ * refus définitif (brief supprimé, validé, client retiré, patch invalide) l'abandonne. Les écritures différées ont leur propre thread : une purge ou un
+ * archivage en cours sur le planificateur partagé ne les retarde pas.
+ */
+@Service
+public class BriefAutosaveService {
+
+    private static final Logger log = LoggerFactory.getLogger(BriefAutosaveService.class);
+
+    private final BriefService briefService;
+    private final BriefRepository briefRepository;
+    private final long debounceNanos;
+    private final long maxDelayNanos;
+    private final Duration flushInterval;
+    private final int maxRetries;
+    private final ScheduledExecutorService flusher;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    private final Counter edits;
+    private final Counter flushed;
+    private final Counter failed;
+
+    public BriefAutosaveService(BriefService briefService,
+                                BriefRepository briefRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.autosave.debounce:PT2S}") Duration debounce,
+                                @Value("${app.autosave.max-delay:PT10S}") Duration maxDelay,
+                                @Value("${app.autosave.flush-interval:PT1S}") Duration flushInterval,
+                                @Value("${app.autosave.max-retries:5}") int maxRetries) {
+        this.briefService = briefService;
+        this.briefRepository = briefRepository;
+        this.debounceNanos = debounce.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.flushInterval = flushInterval;
+        this.maxRetries = maxRetries;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "brief-autosave");
+            t.setDaemon(true);
+            return t;
+        });
+        this.edits = meterRegistry.counter("brief.autosave.edits");
+        this.flushed = meterRegistry.counter("brief.autosave.flushes", "outcome", "success");
+        this.failed = meterRegistry.counter("brief.autosave.flushes", "outcome", "error");
+    }
+
+    /**
+     * Ajoute un patch aux modifications en attente du brief. Le propriétaire n'est vérifié
+     * (une lecture par clé) qu'à la première saisie d'une rafale.
+     */
+    public void submit(Long briefId, ObjectNode patch, User user) {
+        Pending current = pending.get(briefId);
+        if ((current == null || !current.owner.getId().equals(user.getId()))
+                && !briefRepository.existsInAnyTier(briefId, user.getId())) {
+            throw new NotFoundException("Brief not found");
+        }
+
+        long now = System.nanoTime();
+        // Verrou pris hors de la map : attendre une écriture en cours ne bloque pas les autres briefs
+        while (true) {
+            Pending existing = pending.get(briefId);
+            if (existing == null) {
+                if (pending.putIfAbsent(briefId, new Pending(patch.deepCopy(), user, now)) == null) {
+                    break;
+                }
+                continue;
+            }
+            existing.lock.lock();
+            try {
+                if (!existing.closed) {
+                    existing.merge(patch, user, now);
+                    break;
+                }
+            } finally {
+                existing.lock.unlock();
+            }
+            // Entrée écrite ou abandonnée entre-temps : une nouvelle la remplace
+            pending.remove(briefId, existing);
+        }
+        edits.increment();
+    }
+
+    // Sauvegarde explicite : écrit les modifications en attente plus ce dernier patch
+    public BriefResponse save(Long briefId, ObjectNode patch, User user) throws ForbiddenException {
+        submit(briefId, patch, user);
+        BriefResponse response = flush(briefId);
+        return response != null ? response : briefService.getBriefById(briefId, user);
+    }
+
+    /**
+     * Écrit tout de suite les modifications en attente du brief, s'il y en a ; à appeler avant
+     * toute lecture ou action qui doit voir le dernier état (PDF, soumission...).
+     */
+    public BriefResponse flush(Long briefId) throws ForbiddenException {
+        Pending entry = pending.get(briefId);
+        return entry != null ? write(briefId, entry) : null;
+    }
+
+    // Remplacement complet (PUT) ou suppression par le propriétaire : les modifications en attente sont obsolètes
+    public void discard(Long briefId, User user) {
+        Pending entry = pending.get(briefId);
+        if (entry == null) {
+            return;
+        }
+        entry.lock.lock();
+        try {
+            if (!entry.owner.getId().equals(user.getId())) {
+                return;
+            }
+            entry.closed = true;
+        } finally {
+            entry.lock.unlock();
+        }
+        pending.remove(briefId, entry);
+    }
+
+    @PostConstruct
+    public void start() {
+        long interval = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flushDue();
+            } catch (RuntimeException e) {
+                log.error("Autosave flush failed", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void flushDue() {
+        long now = System.nanoTime();
+        pending.forEach((briefId, entry) -> {
+            if (now - entry.retryAt < 0) {
+                return;
+            }
+            if (now - entry.lastEditAt >= debounceNanos || now - entry.firstEditAt >= maxDelayNanos) {
+                writeQuietly(briefId, entry);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flushAll();
+    }
+
+    public void flushAll() {
+        pending.forEach(this::writeQuietly);
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    private void writeQuietly(Long briefId, Pending entry) {
+        try {
+            write(briefId, entry);
+        } catch (ForbiddenException | RuntimeException e) {
+            log.warn("Autosave of brief {} failed: {}", briefId, e.toString());
+        }
+    }
+
+    /*
+     * Le verrou de l'entrée est tenu pendant l'écriture : une saisie concurrente attend puis
+     * ouvre une nouvelle entrée (ou, si l'écriture a échoué, complète celle-ci). L'ordre des
+     * écritures suit donc celui des saisies. Le retrait de la map se fait verrou relâché.
+     */
+    private BriefResponse write(Long briefId, Pending entry) throws ForbiddenException {
+        entry.lock.lock();
+        try {
+            if (entry.closed) {
+                return null;
+            }
+            try {
+                BriefResponse response = briefService.patchBrief(briefId, entry.patch, entry.owner);
+                flushed.increment();
+                entry.closed = true;
+                return response;
+            } catch (ForbiddenException | RuntimeException e) {
+                failed.increment();
+                if (isPermanent(e) || ++entry.failures > maxRetries) {
+                    log.warn("Autosave of brief {} dropped after {} failed attempt(s)", briefId, entry.failures);
+                    entry.closed = true;
+                } else {
+                    // Délai doublé à chaque échec : une base indisponible n'est pas sollicitée à chaque tick
+                    entry.retryAt = System.nanoTime() + (Math.max(debounceNanos, flushInterval.toNanos()) << Math.min(entry.failures - 1, 10));
+                }
+                throw e;
+            }
+        } finally {
+            entry.lock.unlock();
+            if (entry.closed) {
+                pending.remove(briefId, entry);
+            }
+        }
+    }
+
+    // Brief supprimé, validé, client retiré ou patch invalide : réessayer donnerait le même résultat
+    private static boolean isPermanent(Throwable e) {
+        return e instanceof NotFoundException
+                || e instanceof ForbiddenException
+                || e instanceof IllegalStateException
+                || e instanceof IllegalArgumentException;
+    }
+
+    private static final class Pending {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ObjectNode patch;
+        private final long firstEditAt;
+        private volatile long lastEditAt;
+        // Après un échec passager, pas de nouvelle tentative planifiée avant cet instant
+        private volatile long retryAt;
+        private int failures;
+        private User owner;
+        // Écrite ou abandonnée : n'accepte plus de saisie
+        private boolean closed;
+
+        Pending(ObjectNode patch, User owner, long now) {
+            this.patch = patch;
+            this.owner = owner;
+            this.firstEditAt = now;
+            this.lastEditAt = now;
+            this.retryAt = now;
+        }
+
+        // Champs plats : fusionner deux merge patches revient à superposer leurs membres
+        void merge(ObjectNode next, User user, long now) {
+            patch.setAll(next);
+            owner = user;
+            lastEditAt = now;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.killiann.briefsaas.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.killiann.briefsaas.dto.BriefRevisionContent;
+import com.killiann.briefsaas.dto.BriefRevisionDiff;
+import com.killiann.briefsaas.dto.BriefRevisionResponse;
+import com.killiann.briefsaas.dto.BriefRevisionSummary;
+import com.killiann.briefsaas.entity.Brief;
+import com.killiann.briefsaas.entity.BriefRevision;
+import com.killiann.briefsaas.entity.User;
+import com.killiann.briefsaas.exception.NotFoundException;
+import com.killiann.briefsaas.repository.BriefRepository;
+import com.killiann.briefsaas.repository.BriefRevisionRepository;
+import com.killiann.briefsaas.util.DeltaCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Historique des briefs. Chaque version est stockée compressée, en delta depuis la précédente,
+ * avec un instantané complet toutes les {@code snapshot-interval} révisions : reconstruire une
+ * révision lit au plus {@code snapshot-interval} lignes et applique au plus autant de deltas moins un.
+ */
+@Service
+public class BriefRevisionService {
+
+    private final BriefRevisionRepository revisionRepository;
+    private final BriefRepository briefRepository;
+    private final ObjectMapper objectMapper;
+    private final int snapshotInterval;
+
+    public BriefRevisionService(BriefRevisionRepository revisionRepository,
+                                BriefRepository briefRepository,
+                                ObjectMapper objectMapper,
+                                @Value("${app.brief-revisions.snapshot-interval:10}") int snapshotInterval) {
+        this.revisionRepository = revisionRepository;
+        this.briefRepository = briefRepository;
+        this.objectMapper = objectMapper;
+        this.snapshotInterval = Math.max(1, snapshotInterval);
+    }
+
+    public BriefRevisionContent capture(Brief brief) {
+        return BriefRevisionContent.builder()
+                .title(brief.getTitle())
+                .description(brief.getDescription())
+                .objectives(brief.getObjectives())
+                .targetAudience(brief.getTargetAudience())
+                .budget(brief.getBudget())
+                .deadline(brief.getDeadline())
+                .deliverables(brief.getDeliverables())
+                .constraints(brief.getConstraints())
+                .clientId(brief.getClient() != null ? brief.getClient().getId() : null)
+                .status(brief.getStatus())
+                .clientValidated(brief.getClientValidated())
+                .build();
+    }
+
+    /**
+     * Enregistre l'état courant du brief s'il diffère de la dernière révision. Appelé dans la
+     * transaction d'écriture du brief ; {@code before} (état avant modification, peut être null)
+     * devient la révision 1 d'un brief antérieur à l'historique.
+     */
+    @Transactional
+    public void record(Brief brief, BriefRevisionContent before) {
+        Long briefId = brief.getId();
+        BriefRevisionContent after = capture(brief);
+
+        Integer latest = revisionRepository.findLatestRevision(briefId);
+        Version previous = latest != null ? load(briefId, latest) : null;
+        if (previous == null && before != null && !before.equals(after)) {
+            previous = append(briefId, null, before);
+        }
+        if (previous != null && Arrays.equals(previous.content(), serialize(after))) {
+            return;
+        }
+        append(briefId, previous, after);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<BriefRevisionSummary> listRevisions(Long briefId, User user, int page, int size) {
+        checkOwner(briefId, user);
+        return revisionRepository.findSummariesByBriefId(briefId,
+                PageRequest.of(page, size, Sort.by("revision").descending()));
+    }
+
+    @Transactional(readOnly = true)
+    public BriefRevisionResponse getRevision(Long briefId, int revision, User user) {
+        checkOwner(briefId, user);
+        Version version = load(briefId, revision);
+        return BriefRevisionResponse.builder()
+                .revision(revision)
+                .createdAt(version.createdAt())
+                .content(deserialize(version.content()))
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public BriefRevisionDiff diff(Long briefId, int from, int to, User user) {
+        checkOwner(briefId, user);
+        JsonNode before = readTree(load(briefId, from).content());
+        JsonNode after = readTree(load(briefId, to).content());
+
+        Set<String> fields = new LinkedHashSet<>();
+        before.fieldNames().forEachRemaining(fields::add);
+        after.fieldNames().forEachRemaining(fields::add);
+
+        List<BriefRevisionDiff.Change> changes = new ArrayList<>();
+        for (String field : fields) {
+            JsonNode oldValue = before.hasNonNull(field) ? before.get(field) : NullNode.getInstance();
+            JsonNode newValue = after.hasNonNull(field) ? after.get(field) : NullNode.getInstance();
+            if (!oldValue.equals(newValue)) {
+                changes.add(new BriefRevisionDiff.Change(field, oldValue, newValue));
+            }
+        }
+        return BriefRevisionDiff.builder().from(from).to(to).changes(changes).build();
+    }
+
+    @Transactional
+    public void deleteRevisions(List<Long> briefIds) {
+        revisionRepository.deleteByBriefIdIn(briefIds);
+    }
+
+    /** Rejoue un instantané suivi de ses deltas consécutifs et renvoie le contenu de la dernière révision. */
+    public static byte[] replay(List<BriefRevision> chain) {
+        byte[] content = null;
+        for (BriefRevision revision : chain) {
+            byte[] raw = DeltaCodec.inflate(revision.getPayload());
+            if (revision.isSnapshot()) {
+                content = raw;
+            } else if (content == null) {
+                throw new IllegalStateException("Revision chain of brief " + revision.getBriefId() + " does not start with a snapshot");
+            } else {
+                content = DeltaCodec.apply(content, raw);
+            }
+        }
+        return content;
+    }
+
+    private Version append(Long briefId, Version previous, BriefRevisionContent content) {
+        byte[] bytes = serialize(content);
+        int revision = previous == null ? 1 : previous.revision() + 1;
+        boolean snapshot = previous == null || revision - previous.snapshotRevision() >= snapshotInterval;
+        byte[] raw = snapshot ? bytes : DeltaCodec.encode(previous.content(), bytes);
+
+        BriefRevision saved = revisionRepository.save(BriefRevision.builder()
+                .briefId(briefId)
+                .revision(revision)
+                .snapshot(snapshot)
+                .status(content.getStatus())
+                .contentLength(bytes.length)
+                .payload(DeltaCodec.deflate(raw))
+                .createdAt(Instant.now())
+                .build());
+        return new Version(revision, snapshot ? revision : previous.snapshotRevision(), bytes, saved.getCreatedAt());
+    }
+
+    // Instantané le plus proche puis deltas jusqu'à la révision demandée : une seule lecture de plage
+    private Version load(Long briefId, int revision) {
+        Integer snapshot = revisionRepository.findSnapshotRevision(briefId, revision);
+        List<BriefRevision> chain = snapshot == null ? List.of()
+                : revisionRepository.findByBriefIdAndRevisionBetweenOrderByRevision(briefId, snapshot, revision);
+        if (chain.isEmpty() || chain.get(chain.size() - 1).getRevision() != revision) {
+            throw new NotFoundException("Revision " + revision + " not found for brief " + briefId);
+        }
+        BriefRevision last = chain.get(chain.size() - 1);
+        return new Version(revision, snapshot, replay(chain), last.getCreatedAt());
+    }
+
+    private void checkOwner(Long briefId, User user) {
+        if (!briefRepository.existsInAnyTier(briefId, user.getId())) {
+            throw new NotFoundException("Brief not found");
+        }
+    }
+
+    private byte[] serialize(BriefRevisionContent content) {
+        try {
+            return objectMapper.writeValueAsBytes(content);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize brief revision", e);
+        }
+    }
+
+    private BriefRevisionContent deserialize(byte[] content) {
+        try {
+            return objectMapper.readValue(content, BriefRevisionContent.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read brief revision", e);
+        }
+    }
+
+    private JsonNode readTree(byte[] content) {
+        try {
+            return objectMapper.readTree(content);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read brief revision", e);
+        }
+    }
+
+    private record Version(int revision, int snapshotRevision, byte[] content, Instant createdAt) {
+    }
+}
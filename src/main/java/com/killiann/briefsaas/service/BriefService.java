@@ -2,6 +2,8 @@ package com.killiann.briefsaas.service;
 
 import com.killiann.briefsaas.dto.BriefRequest;
 import com.killiann.briefsaas.dto.BriefResponse;
+import com.killiann.briefsaas.dto.BriefRevisionContent;
+import com.killiann.briefsaas.dto.BriefSummary;
 import com.killiann.briefsaas.dto.ClientDto;
 import com.killiann.briefsaas.dto.PublicBriefResponse;
 import com.killiann.briefsaas.entity.Brief;
@@ -13,20 +15,32 @@ import com.killiann.briefsaas.exception.ForbiddenException;
 import com.killiann.briefsaas.exception.NotFoundException;
 import com.killiann.briefsaas.repository.BriefRepository;
 import com.killiann.briefsaas.repository.ClientRepository;
-import jakarta.transaction.Transactional;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.file.AccessDeniedException;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -36,14 +50,27 @@ public class BriefService {
     private final BriefRepository briefRepository;
     private final ClientRepository clientRepository;
     private final MailService mailService;
+    private final BriefRevisionService briefRevisionService;
+    private final AttachmentService attachmentService;
+    private final BriefArchiveService briefArchiveService;
+    private final ObjectMapper objectMapper;
     private static final Logger log = LoggerFactory.getLogger(BriefService.class);
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_MERGED_WINDOW = 2_000;
+    // Même ordre dans les deux tiers et pour la fusion : l'id départage les briefs créés au même instant
+    private static final Sort LIST_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private static final Set<String> PATCHABLE_FIELDS = Set.of(
+            "title", "description", "objectives", "targetAudience", "budget",
+            "deadline", "deliverables", "constraints", "clientId"
+    );
+
     public BriefResponse createBrief(BriefRequest request, User user) throws ForbiddenException {
         checkBriefCreationAllowed(user);
         Client client = null;
         if (request.getClientId() != null) {
-            client = clientRepository.findById(request.getClientId())
-                    .filter(c -> c.getOwner().getId().equals(user.getId()))
+            client = clientRepository.findByIdAndOwnerId(request.getClientId(), user.getId())
                     .orElseThrow(() -> new ForbiddenException("Client not found or unauthorized"));
         }
         Brief brief = Brief.builder()
@@ -65,22 +92,20 @@ public class BriefService {
         brief.setClientValidated(false);
 
         Brief saved = briefRepository.save(brief);
+        briefRevisionService.record(saved, null);
 
         return mapToResponse(saved);
     }
 
     @Transactional
-    public BriefResponse submitToClient(Long briefId, User currentUser) throws BadRequestException, ForbiddenException {
-        Brief brief = briefRepository.findById(briefId)
+    public BriefResponse submitToClient(Long briefId, User currentUser) throws BadRequestException {
+        Brief brief = findForUpdate(briefId, currentUser)
                 .orElseThrow(() -> new NotFoundException("Brief not found with id " + briefId));
 
         if (brief.getStatus() == BriefStatus.SUBMITTED) {
             throw new BadRequestException("Brief already submitted to the client.");
         }
-
-        if (!brief.getOwner().getId().equals(currentUser.getId())) {
-            throw new ForbiddenException("Access denied.");
-        }
+        BriefRevisionContent before = briefRevisionService.capture(brief);
 
         mailService.sendValidationEmail(
                 brief.getClient().getEmail(),
@@ -91,6 +116,7 @@ public class BriefService {
 
         brief.setStatus(BriefStatus.SUBMITTED);
         Brief saved = briefRepository.save(brief);
+        briefRevisionService.record(saved, before);
 
         log.info("Brief {} submitted to client {}", briefId, brief.getClient().getEmail());
 
@@ -98,63 +124,117 @@ public class BriefService {
     }
 
     @Transactional
-    public BriefResponse updateBriefStatus(Long id, BriefStatus status, User currentUser) throws ForbiddenException {
+    public BriefResponse updateBriefStatus(Long id, BriefStatus status, User currentUser) {
+        if (briefRepository.updateStatusByIdAndOwnerId(id, currentUser.getId(), status, LocalDateTime.now()) == 0
+                && !(briefArchiveService.restore(id, currentUser.getId())
+                && briefRepository.updateStatusByIdAndOwnerId(id, currentUser.getId(), status, LocalDateTime.now()) > 0)) {
+            throw new NotFoundException("Brief not found with id " + id);
+        }
+
         Brief brief = briefRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Brief not found with id " + id));
+        briefRevisionService.record(brief, null);
+        BriefResponse response = mapToResponse(brief);
+        if (status == BriefStatus.ARCHIVED) {
+            briefArchiveService.archiveNow(id);
+        }
+        return response;
+    }
 
-        if (!brief.getOwner().getId().equals(currentUser.getId())) {
-            throw new ForbiddenException("You are not allowed to update this brief.");
+    @Transactional(readOnly = true)
+    public Page<BriefSummary> getUserBriefSummaries(User user, String status, int page, int size) {
+        Pageable pageable = listPage(page, size);
+        BriefStatus statusFilter = "ALL".equalsIgnoreCase(status) || status == null ? null : BriefStatus.valueOf(status);
+        if (!spansColdTier(user, statusFilter)) {
+            return briefRepository.findSummariesByOwner(user, statusFilter, pageable);
         }
+        return mergedSummaries(user, statusFilter, pageable);
+    }
 
-        brief.setStatus(status);
+    @Transactional(readOnly = true)
+    public Page<BriefResponse> getUserBriefs(User user, String status, int page, int size) {
+        Pageable pageable = listPage(page, size);
+        BriefStatus statusFilter = "ALL".equalsIgnoreCase(status) || status == null ? null : BriefStatus.valueOf(status);
+        if (!spansColdTier(user, statusFilter)) {
+            Page<Brief> briefs = statusFilter == null
+                    ? briefRepository.findByOwner(user, pageable)
+                    : briefRepository.findByOwnerAndStatus(user, statusFilter, pageable);
+            return briefs.map(this::mapToResponse);
+        }
 
-        Brief updated = briefRepository.save(brief);
-        return mapToResponse(updated);
+        // Fusion sur les résumés, puis chargement complet des seuls briefs de la page (dans l'un ou l'autre tier :
+        // un brief restauré ou archivé entre les deux lectures garde son id)
+        Page<BriefSummary> summaries = mergedSummaries(user, statusFilter, pageable);
+        List<Long> ids = summaries.map(BriefSummary::getId).getContent();
+        Map<Long, Brief> briefs = new HashMap<>();
+        briefRepository.findByIdInAndOwner(ids, user).forEach(b -> briefs.put(b.getId(), b));
+        briefArchiveService.findArchivedByIds(ids, user.getId()).forEach(b -> briefs.putIfAbsent(b.getId(), b));
+        List<BriefResponse> content = ids.stream().map(briefs::get).filter(Objects::nonNull).map(this::mapToResponse).toList();
+        return new PageImpl<>(content, pageable, summaries.getTotalElements());
     }
 
-    public Page<BriefResponse> getUserBriefs(User user, String status, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Brief> briefs;
-        if ("ALL".equalsIgnoreCase(status) || status == null) {
-            briefs = briefRepository.findByOwner(user, pageable);
-        } else {
-            briefs = briefRepository.findByOwnerAndStatus(user, BriefStatus.valueOf(status), pageable);
+    private static Pageable listPage(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
         }
-        return briefs.map(this::mapToResponse);
+        return PageRequest.of(page, size, LIST_ORDER);
     }
 
+    private boolean spansColdTier(User user, BriefStatus status) {
+        boolean coldTier = status == null || status == BriefStatus.VALIDATED || status == BriefStatus.ARCHIVED;
+        return coldTier && briefArchiveService.countArchived(user.getId()) > 0;
+    }
+
+    /**
+     * Page d'une liste répartie entre la table chaude et le stockage froid (archivés, validés anciens) :
+     * chaque tier fournit ses (page + 1) * size premiers résumés, fusionnés dans l'ordre des requêtes
+     * (date de création décroissante, puis id). La fenêtre est bornée à {@link #MAX_MERGED_WINDOW} lignes par tier.
+     */
+    private Page<BriefSummary> mergedSummaries(User user, BriefStatus status, Pageable pageable) {
+        long window = pageable.getOffset() + pageable.getPageSize();
+        if (window > MAX_MERGED_WINDOW) {
+            throw new BadRequestException("Page too deep: filter by status to list more than " + MAX_MERGED_WINDOW + " briefs");
+        }
+        Pageable head = PageRequest.of(0, (int) window, LIST_ORDER);
+        Page<BriefSummary> hotHead = briefRepository.findSummariesByOwner(user, status, head);
+        Page<BriefSummary> coldHead = briefArchiveService.findArchivedSummaries(user.getId(), status, head);
+
+        List<BriefSummary> merged = new ArrayList<>(hotHead.getContent());
+        merged.addAll(coldHead.getContent());
+        merged.sort(Comparator.comparing(BriefSummary::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(BriefSummary::getId, Comparator.reverseOrder()));
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(merged.subList(from, to), pageable, hotHead.getTotalElements() + coldHead.getTotalElements());
+    }
+
+    @Transactional(readOnly = true)
     public BriefResponse getBriefById(Long id, User user) {
-        Brief brief = briefRepository.findById(id)
-                .filter(b -> b.getOwner().getId().equals(user.getId()))
+        Brief brief = findForRead(id, user)
                 .orElseThrow(() -> new NotFoundException("Brief not found"));
         return mapToResponse(brief);
     }
 
+    @Transactional(readOnly = true)
     public PublicBriefResponse getPublicBrief(UUID uuid) {
-        Brief brief = briefRepository.findByPublicUuid(uuid)
+        Brief brief = briefRepository.findByPublicUuidAndOwnerDeletedAtIsNull(uuid)
+                .or(() -> briefArchiveService.findArchivedByPublicUuid(uuid))
                 .orElseThrow(() -> new NotFoundException("Public brief not found"));
         return mapToPublicResponse(brief);
     }
 
+    @Transactional
     public BriefResponse updateBrief(Long id, BriefRequest request, User user) throws ForbiddenException {
-        Brief brief = briefRepository.findById(id)
+        Brief brief = findForUpdate(id, user)
                 .orElseThrow(() -> new NotFoundException("Brief not found"));
 
         if (Boolean.TRUE.equals(brief.getClientValidated())) {
             throw new IllegalStateException("Le brief a déjà été validé et ne peut plus être modifié.");
         }
-
-        if (!brief.getOwner().getId().equals(user.getId())) {
-            try {
-                throw new AccessDeniedException("You are not the owner of this brief.");
-            } catch (AccessDeniedException e) {
-                throw new RuntimeException(e);
-            }
-        }
+        BriefRevisionContent before = briefRevisionService.capture(brief);
 
         if (request.getClientId() != null) {
-            Client client = clientRepository.findById(request.getClientId())
-                    .filter(c -> c.getOwner().getId().equals(user.getId()))
+            Client client = clientRepository.findByIdAndOwnerId(request.getClientId(), user.getId())
                     .orElseThrow(() -> new ForbiddenException("Unauthorized client"));
             brief.setClient(client);
         }
@@ -170,49 +250,109 @@ public class BriefService {
         brief.setConstraints(request.getConstraints());
 
         Brief updated = briefRepository.save(brief);
+        briefRevisionService.record(updated, before);
         return mapToResponse(updated);
     }
 
-    public void deleteBrief(Long id, User user) {
-        Brief brief = briefRepository.findById(id)
-                .filter(b -> b.getOwner().getId().equals(user.getId()))
+    /**
+     * Vérifie un JSON Merge Patch (RFC 7396) : objet plat, champs de {@link BriefRequest} uniquement,
+     * valeurs du bon type. Un champ absent reste inchangé, {@code null} l'efface.
+     */
+    public ObjectNode readMergePatch(JsonNode body) throws BadRequestException {
+        if (body == null || !body.isObject()) {
+            throw new BadRequestException("Merge patch must be a JSON object");
+        }
+        for (Iterator<String> fields = body.fieldNames(); fields.hasNext(); ) {
+            String field = fields.next();
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new BadRequestException("Unknown field: " + field);
+            }
+        }
+        try {
+            objectMapper.treeToValue(body, BriefRequest.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new BadRequestException("Invalid merge patch: " + e.getMessage());
+        }
+        return ((ObjectNode) body).deepCopy();
+    }
+
+    // Seuls les champs présents dans le patch sont modifiés ; l'UPDATE (@DynamicUpdate) ne porte que sur eux
+    @Transactional
+    public BriefResponse patchBrief(Long id, ObjectNode patch, User user) throws ForbiddenException {
+        Brief brief = findForUpdate(id, user)
                 .orElseThrow(() -> new NotFoundException("Brief not found"));
 
-        if (!brief.getOwner().getId().equals(user.getId())) {
-            try {
-                throw new AccessDeniedException("Unauthorized");
-            } catch (AccessDeniedException e) {
-                throw new RuntimeException(e);
+        if (Boolean.TRUE.equals(brief.getClientValidated())) {
+            throw new IllegalStateException("Le brief a déjà été validé et ne peut plus être modifié.");
+        }
+        BriefRevisionContent before = briefRevisionService.capture(brief);
+
+        BriefRequest values = objectMapper.convertValue(patch, BriefRequest.class);
+        for (Iterator<String> fields = patch.fieldNames(); fields.hasNext(); ) {
+            switch (fields.next()) {
+                case "title" -> brief.setTitle(values.getTitle());
+                case "description" -> brief.setDescription(values.getDescription());
+                case "objectives" -> brief.setObjectives(values.getObjectives());
+                case "targetAudience" -> brief.setTargetAudience(values.getTargetAudience());
+                case "budget" -> brief.setBudget(values.getBudget());
+                case "deadline" -> brief.setDeadline(values.getDeadline());
+                case "deliverables" -> brief.setDeliverables(values.getDeliverables());
+                case "constraints" -> brief.setConstraints(values.getConstraints());
+                case "clientId" -> brief.setClient(values.getClientId() == null ? null
+                        : clientRepository.findByIdAndOwnerId(values.getClientId(), user.getId())
+                                .orElseThrow(() -> new ForbiddenException("Unauthorized client")));
+                default -> throw new IllegalArgumentException("Unknown field");
             }
         }
+        if (!patch.isEmpty()) {
+            brief.setStatus(BriefStatus.DRAFT);
+            briefRevisionService.record(brief, before);
+        }
 
-        briefRepository.delete(brief);
+        return mapToResponse(brief);
+    }
+
+    @Transactional
+    public void deleteBrief(Long id, User user) {
+        if (briefRepository.deleteByIdAndOwnerId(id, user.getId()) == 0
+                && !briefArchiveService.deleteArchived(id, user.getId())) {
+            throw new NotFoundException("Brief not found");
+        }
+        briefRevisionService.deleteRevisions(List.of(id));
+        attachmentService.deleteForBriefs(List.of(id));
     }
 
+    @Transactional
     public BriefResponse validateBrief(Long id, User user) {
+        if (briefRepository.validateByIdAndOwnerId(id, user.getId(), LocalDateTime.now()) == 0
+                && !(briefArchiveService.restore(id, user.getId())
+                && briefRepository.validateByIdAndOwnerId(id, user.getId(), LocalDateTime.now()) > 0)) {
+            throw new NotFoundException("Brief not found");
+        }
+
         Brief brief = briefRepository.findById(id)
-                .filter(b -> b.getOwner().getId().equals(user.getId()))
                 .orElseThrow(() -> new NotFoundException("Brief not found"));
-
-        brief.setStatus(BriefStatus.VALIDATED);
-        brief.setValidatedAt(LocalDateTime.now());
-        briefRepository.save(brief);
-
+        briefRevisionService.record(brief, null);
         return mapToResponse(brief);
     }
 
+    @Transactional
     public BriefResponse publicValidate(UUID uuid, String code) {
-        Brief brief = briefRepository.findByPublicUuid(uuid)
+        Brief brief = briefRepository.findPublicForUpdate(uuid)
+                .or(() -> briefArchiveService.restoreByPublicUuid(uuid)
+                        ? briefRepository.findPublicForUpdate(uuid) : Optional.empty())
                 .orElseThrow(() -> new NotFoundException("Public brief not found"));
 
         if (brief.getValidationCode() == null || !brief.getValidationCode().equals(code)) {
             throw new RuntimeException("Invalid validation code");
         }
+        BriefRevisionContent before = briefRevisionService.capture(brief);
 
         brief.setStatus(BriefStatus.VALIDATED);
         brief.setValidatedAt(LocalDateTime.now());
         brief.setClientValidated(true);
         briefRepository.save(brief);
+        briefRevisionService.record(brief, before);
 
         return mapToResponse(brief);
     }
@@ -269,6 +409,7 @@ public class BriefService {
                 .status(brief.getStatus())
                 .createdAt(brief.getCreatedAt())
                 .updatedAt(brief.getUpdatedAt())
+                .attachments(attachmentService.listForBrief(brief.getId()))
                 .build();
     }
 
@@ -276,22 +417,29 @@ public class BriefService {
         boolean isFree = !currentUser.isSubscriptionActive(); // ou getSubscription() == null
 
         if (isFree) {
-            long briefsCount = briefRepository.countByOwner(currentUser);
+            long briefsCount = briefRepository.countByOwner(currentUser) + briefArchiveService.countArchived(currentUser.getId());
             if (briefsCount >= 1) {
                 throw new ForbiddenException("Limite atteinte pour un compte gratuit.");
             }
         }
     }
 
-    public Brief getBriefByIdForCurrentUser(Long briefId, User currentUser) throws ForbiddenException {
-        Brief brief = briefRepository.findById(briefId)
+    @Transactional(readOnly = true)
+    public Brief getBriefByIdForCurrentUser(Long briefId, User currentUser) {
+        return findForRead(briefId, currentUser)
                 .orElseThrow(() -> new NotFoundException("Brief not found"));
+    }
 
-        Long currentUserId = currentUser.getId();
-        if (!brief.getOwner().getId().equals(currentUserId)) {
-            throw new ForbiddenException("You are not allowed to access this brief.");
-        }
+    // Lecture : un brief froid est décodé sur place, sans retour dans la table chaude
+    private Optional<Brief> findForRead(Long id, User user) {
+        return briefRepository.findByIdAndOwnerId(id, user.getId())
+                .or(() -> briefArchiveService.findArchived(id, user.getId()));
+    }
 
-        return brief;
+    // Écriture : ligne verrouillée jusqu'au commit ; un brief froid est d'abord restauré, puis modifié comme les autres
+    private Optional<Brief> findForUpdate(Long id, User user) {
+        return briefRepository.findForUpdate(id, user.getId())
+                .or(() -> briefArchiveService.restore(id, user.getId())
+                        ? briefRepository.findForUpdate(id, user.getId()) : Optional.empty());
     }
 }
\ No newline at end of file
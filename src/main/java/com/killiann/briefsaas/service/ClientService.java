@@ -8,6 +8,7 @@ import com.killiann.briefsaas.exception.NotFoundException;
 import com.killiann.briefsaas.repository.ClientRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -17,21 +18,16 @@ public class ClientService {
 
     private final ClientRepository clientRepository;
 
+    @Transactional(readOnly = true)
     public List<ClientDto> getClientsForUser(User user) {
         return clientRepository.findByOwner(user).stream()
                 .map(this::toDTO)
                 .toList();
     }
 
-    public Client getClientByIdAndOwner(Long id, User user) throws ForbiddenException {
-        Client client = clientRepository.findById(id)
+    public Client getClientByIdAndOwner(Long id, User user) {
+        return clientRepository.findByIdAndOwnerId(id, user.getId())
                 .orElseThrow(() -> new NotFoundException("Client not found"));
-
-        if (!client.getOwner().getId().equals(user.getId())) {
-            throw new ForbiddenException("Unauthorized");
-        }
-
-        return client;
     }
 
     public Client createClient(Client client, User owner) throws ForbiddenException {
@@ -48,19 +44,21 @@ public class ClientService {
         return clientRepository.save(client);
     }
 
-    public Client updateClient(Client existingClient, Client updatedData) {
-        existingClient.setName(updatedData.getName());
-        existingClient.setEmail(updatedData.getEmail());
-        return clientRepository.save(existingClient);
+    /*
+     * Chargement restreint au propriétaire puis modification suivie par Hibernate : seule l'entrée
+     * de ce client est invalidée dans le cache L2 (un UPDATE / DELETE JPQL viderait toute la région).
+     */
+    @Transactional
+    public ClientDto updateClient(Long id, ClientDto data, User user) {
+        Client client = getClientByIdAndOwner(id, user);
+        client.setName(data.getName());
+        client.setEmail(data.getEmail());
+        return toDTO(client);
     }
 
-    public void deleteClient(Long id, User user) throws ForbiddenException {
-        Client client = clientRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Client not found"));
-        if (!client.getOwner().getId().equals(user.getId())) {
-            throw new ForbiddenException("Unauthorized");
-        }
-        clientRepository.delete(client);
+    @Transactional
+    public void deleteClient(Long id, User user) {
+        clientRepository.delete(getClientByIdAndOwner(id, user));
     }
 
     public ClientDto toDTO(Client client) {
@@ -0,0 +1,168 @@
+package com.killiann.briefsaas.service;
+
+import com.killiann.briefsaas.exception.ConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Stockage sur disque local : {@code uploads/<id>.part} pour les envois en cours,
+ * {@code objects/<2 premiers caractères>/<sha256>} pour les contenus.
+ * Les copies passent par les canaux (transferFrom / transferTo) avec un tampon fixe : la mémoire
+ * utilisée ne dépend pas de la taille des fichiers.
+ */
+@Component
+public class LocalAttachmentStorage implements AttachmentStorage {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern UPLOAD_ID = Pattern.compile("[0-9a-fA-F-]{36}");
+
+    private final Path uploads;
+    private final Path objects;
+
+    public LocalAttachmentStorage(@Value("${app.attachments.dir:${java.io.tmpdir}/briefsaas-attachments}") Path root) {
+        this.uploads = root.resolve("uploads");
+        this.objects = root.resolve("objects");
+        try {
+            Files.createDirectories(uploads);
+            Files.createDirectories(objects);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create attachment storage in " + root, e);
+        }
+    }
+
+    @Override
+    public long stagedSize(String uploadId) throws IOException {
+        Path part = part(uploadId);
+        return Files.exists(part) ? Files.size(part) : 0;
+    }
+
+    @Override
+    public long append(String uploadId, long offset, InputStream in, long maxBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(part(uploadId), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if (lock == null) {
+                throw new ConflictException("Another chunk of this upload is in progress");
+            }
+            try {
+                long received = channel.size();
+                if (received != offset) {
+                    throw new ConflictException("Upload offset is " + received + ", not " + offset);
+                }
+                long written = channel.transferFrom(Channels.newChannel(in), offset, maxBytes);
+                // Morceau durable avant d'annoncer le nouvel offset : une reprise après arrêt repart de là
+                channel.force(false);
+                return offset + written;
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    @Override
+    public String digest(String uploadId) throws IOException {
+        MessageDigest digest = sha256();
+        try (FileChannel channel = FileChannel.open(part(uploadId), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @Override
+    public void commit(String uploadId, String sha256) throws IOException {
+        Path part = part(uploadId);
+        Path target = object(sha256);
+        Files.createDirectories(target.getParent());
+        if (Files.exists(target)) {
+            Files.delete(part);
+        } else {
+            try {
+                Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                Files.delete(part);
+            }
+        }
+    }
+
+    @Override
+    public void discard(String uploadId) throws IOException {
+        Files.deleteIfExists(part(uploadId));
+    }
+
+    @Override
+    public void delete(String sha256) throws IOException {
+        Files.deleteIfExists(object(sha256));
+    }
+
+    @Override
+    public long transferTo(String sha256, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(object(sha256), StandardOpenOption.READ)) {
+            long done = 0;
+            while (done < count) {
+                long n = channel.transferTo(position + done, count - done, target);
+                if (n <= 0) {
+                    break;
+                }
+                done += n;
+            }
+            return done;
+        }
+    }
+
+    @Override
+    public Optional<Path> localPath(String sha256) {
+        return Optional.of(object(sha256));
+    }
+
+    private Path part(String uploadId) {
+        if (!UPLOAD_ID.matcher(uploadId).matches()) {
+            throw new IllegalArgumentException("Invalid upload id: " + uploadId);
+        }
+        return uploads.resolve(uploadId + ".part");
+    }
+
+    private Path object(String sha256) {
+        if (!SHA256.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Invalid object key: " + sha256);
+        }
+        return objects.resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
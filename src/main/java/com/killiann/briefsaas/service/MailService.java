@@ -3,6 +3,8 @@ package com.killiann.briefsaas.service;
 import com.killiann.briefsaas.controller.StripeController;
 import com.killiann.briefsaas.entity.User;
 import jakarta.mail.MessagingException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -24,6 +26,7 @@ public class MailService {
 
     private final JavaMailSender mailSender;
     private final MessageSource messageSource;
+    private final ObservationRegistry observationRegistry;
 
     @Value("${frontend.baseUrl}")
     private String frontendBaseUrl;
@@ -45,7 +48,7 @@ public class MailService {
 
             helper.setFrom("no-reply@brief-mate.com");
 
-            mailSender.send(mimeMessage);
+            send(mimeMessage, "validation");
 
         } catch (MessagingException e) {
             throw new RuntimeException("Erreur lors de l'envoi de l'email de validation", e);
@@ -69,9 +72,27 @@ public class MailService {
 
             helper.setFrom("no-reply@brief-mate.com");
 
-            mailSender.send(message);
+            send(message, "verification");
         } catch (MessagingException e) {
             throw new RuntimeException("Failed to send verification email", e);
         }
     }
-}
\ No newline at end of file
+
+    // Observation "mail.send" : span SMTP + timer par type de mail et résultat
+    private void send(MimeMessage message, String type) {
+        Observation observation = Observation.createNotStarted("mail.send", observationRegistry)
+                .contextualName("smtp send " + type)
+                .lowCardinalityKeyValue("type", type)
+                .lowCardinalityKeyValue("outcome", "failure")
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            mailSender.send(message);
+            observation.lowCardinalityKeyValue("outcome", "success");
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
@@ -8,8 +8,10 @@ import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.CompressionConstants;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
 import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.borders.Border;
@@ -18,9 +20,16 @@ import com.itextpdf.layout.element.*;
 import com.itextpdf.layout.properties.*;
 import com.killiann.briefsaas.entity.Brief;
 import com.killiann.briefsaas.util.FooterHandler;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -28,14 +37,45 @@ import java.time.LocalDate;
 import java.time.Year;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
+import java.util.ArrayList;
 import java.util.Locale;
+import java.util.function.IntFunction;
 
+// Créé au premier export : évite de charger iText au démarrage
 @Service
+@Lazy
 public class PdfService {
 
+    /**
+     * Profil de sortie. STANDARD : réglages par défaut d'iText (flux de contenu compressés, table xref en clair).
+     * COMPACT : compression maximale, objets regroupés en flux d'objets et table xref en flux (PDF 1.5),
+     * ressources identiques écrites une seule fois (smart mode). Pour les PDF envoyés par mail ou lus sur mobile.
+     */
+    public enum OutputProfile { STANDARD, COMPACT }
+
+    @Value("${app.pdf.output-profile:compact}")
+    private OutputProfile outputProfile = OutputProfile.COMPACT;
+
+    // Au-delà de ce volume de contenu (caractères), rendu en flux : voir render
+    @Value("${app.pdf.streaming-threshold:20000}")
+    private int streamingThreshold = 20_000;
+
+    // Section gardée d'un bloc (keepTogether) seulement si elle tient sur une page
+    private static final int SECTION_MAX_CHARS = 3_000;
+    private static final int LIST_ITEM_CHARS = 60;
+    // Taille des morceaux d'une section découpée
+    private static final int CHUNK_CHARS = 1_500;
+    private static final int CHUNK_ITEMS = 20;
+
     @Autowired
     private MessageSource messageSource;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     // Couleurs personnalisées
     private static final Color BRAND_BLUE = new DeviceRgb(59, 130, 246); // #3b82f6
     private static final Color LIGHT_BLUE = new DeviceRgb(239, 246, 255); // #eff6ff
@@ -45,16 +85,46 @@ public class PdfService {
     private static final Color SUCCESS_GREEN = new DeviceRgb(34, 197, 94); // #22c55e
     private static final Color ACCENT_ORANGE = new DeviceRgb(251, 146, 60); // #fb923c
 
+    // Les associations paresseuses du brief sont chargées pendant le rendu : lecture seule
+    @Transactional(readOnly = true)
     public byte[] generateBriefPdf(Brief brief, Locale locale) throws IOException {
+        Observation observation = Observation.start("brief.pdf.render", observationRegistry);
+        try (Observation.Scope scope = observation.openScope()) {
+            byte[] bytes = render(brief, locale);
+            DistributionSummary.builder("brief.pdf.size")
+                    .baseUnit("bytes")
+                    .tag("profile", outputProfile.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry)
+                    .record(bytes.length);
+            return bytes;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * Deux phases tracées : mise en page (dont chargements paresseux) puis écriture du document.
+     * Brief volumineux (plus de streaming-threshold caractères) : rendu en flux, chaque page est écrite
+     * et libérée dès qu'elle est pleine et les sections sont ajoutées par petits blocs ; la mémoire de
+     * mise en page ne dépend plus de la longueur du document. Sinon, pages gardées jusqu'à la fin.
+     */
+    private byte[] render(Brief brief, Locale locale) {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter writer = new PdfWriter(baos);
+        PdfWriter writer = new PdfWriter(baos, writerProperties());
         PdfDocument pdf = new PdfDocument(writer);
+        boolean streaming = contentLength(brief) > streamingThreshold;
 
         // Configuration des marges plus élégantes
-        Document document = new Document(pdf, PageSize.A4, false);
+        Document document = new Document(pdf, PageSize.A4, streaming);
         document.setMargins(40, 40, 60, 40);
+        // Avant le contenu : en flux, les pages sont terminées pendant la mise en page
+        pdf.addEventHandler(PdfDocumentEvent.END_PAGE, new FooterHandler());
 
-        try {
+        Observation layout = Observation.start("brief.pdf.layout", observationRegistry);
+        try (Observation.Scope scope = layout.openScope()) {
             // Polices
             PdfFont regularFont = PdfFontFactory.createFont();
             PdfFont boldFont = PdfFontFactory.createFont();
@@ -71,42 +141,52 @@ public class PdfService {
             // === DESCRIPTION ===
             if (brief.getDescription() != null && !brief.getDescription().isBlank()) {
                 addSection(document, messageSource.getMessage("pdf.description", null, locale),
-                        brief.getDescription(), BRAND_BLUE);
+                        brief.getDescription(), BRAND_BLUE, streaming);
             }
 
             // === OBJECTIFS ===
             if (brief.getObjectives() != null && !brief.getObjectives().isEmpty()) {
                 addListSection(document, messageSource.getMessage("pdf.objectives", null, locale),
-                        brief.getObjectives(), BRAND_BLUE);
+                        brief.getObjectives(), BRAND_BLUE, streaming);
             }
 
             // === LIVRABLES ===
             if (brief.getDeliverables() != null && !brief.getDeliverables().isEmpty()) {
                 addListSection(document, messageSource.getMessage("pdf.deliverables", null, locale),
-                        brief.getDeliverables(), ACCENT_ORANGE);
+                        brief.getDeliverables(), ACCENT_ORANGE, streaming);
             }
 
             // === CONTRAINTES ===
             if (brief.getConstraints() != null && !brief.getConstraints().isBlank()) {
                 addSection(document, messageSource.getMessage("pdf.constraints", null, locale),
-                        brief.getConstraints(), ColorConstants.RED);
+                        brief.getConstraints(), ColorConstants.RED, streaming);
             }
 
             // === VALIDATION CLIENT ===
             addValidationSection(document, brief, locale);
 
-            // === FOOTER ===
-            pdf.addEventHandler(PdfDocumentEvent.END_PAGE, new FooterHandler());
-
         } catch (Exception e) {
+            layout.error(e);
             e.printStackTrace();
         } finally {
-            document.close();
+            layout.stop();
+            Observation.createNotStarted("brief.pdf.write", observationRegistry).observe(document::close);
         }
 
         return baos.toByteArray();
     }
 
+    // Polices standard (Helvetica) : référencées, jamais embarquées, donc rien à sous-ensembler
+    private WriterProperties writerProperties() {
+        WriterProperties properties = new WriterProperties();
+        if (outputProfile == OutputProfile.COMPACT) {
+            properties.setFullCompressionMode(true)
+                    .setCompressionLevel(CompressionConstants.BEST_COMPRESSION)
+                    .useSmartMode();
+        }
+        return properties;
+    }
+
     private void addHeader(Document document, Locale locale) {
         // Conteneur header avec fond coloré
         Div headerDiv = new Div()
@@ -238,60 +318,93 @@ public class PdfService {
         table.addCell(valueCell);
     }
 
-    private void addSection(Document document, String title, String content, Color accentColor) {
+    private void addSection(Document document, String title, String content, Color accentColor, boolean streaming) {
+        Color background = LIGHT_BLUE;
+        Color border = new DeviceRgb(219, 234, 254);
+        if (streaming || content.length() > SECTION_MAX_CHARS) {
+            java.util.List<String> chunks = splitText(content);
+            addSplitSection(document, title, accentColor, chunks.size(), i -> sectionParagraph(chunks.get(i)), background, border);
+            return;
+        }
+
         // Conteneur principal pour garder titre + contenu ensemble
         Div sectionDiv = new Div()
                 .setMarginBottom(20)
                 .setKeepTogether(true); // AJOUT : Empêche la coupure de page
 
-        // Barre colorée + titre
-        Table titleTable = new Table(new float[]{1, 20});
-        titleTable.setWidth(UnitValue.createPercentValue(100));
-        titleTable.setMarginBottom(15);
-
-        Cell colorBar = new Cell()
-                .setBackgroundColor(accentColor)
-                .setBorder(Border.NO_BORDER)
-                .setPadding(0)
-                .setWidth(4);
-
-        Cell titleCell = new Cell()
-                .add(new Paragraph(title)
-                        .setFontSize(16)
-                        .setBold()
-                        .setFontColor(DARK_GRAY)
-                        .setMargin(0))
-                .setBorder(Border.NO_BORDER)
-                .setPaddingLeft(15)
-                .setVerticalAlignment(VerticalAlignment.MIDDLE);
-
-        titleTable.addCell(colorBar);
-        titleTable.addCell(titleCell);
-
         // Contenu avec fond légèrement coloré
         Div contentDiv = new Div()
-                .setBackgroundColor(LIGHT_BLUE)
+                .setBackgroundColor(background)
                 .setPadding(15)
-                .setBorder(new SolidBorder(new DeviceRgb(219, 234, 254), 1));
+                .setBorder(new SolidBorder(border, 1));
 
-        contentDiv.add(new Paragraph(content)
-                .setFontSize(11)
-                .setFontColor(DARK_GRAY)
-                .setMargin(0)
-                .setTextAlignment(TextAlignment.JUSTIFIED));
+        contentDiv.add(sectionParagraph(content));
 
-        sectionDiv.add(titleTable);
+        sectionDiv.add(sectionTitle(title, accentColor));
         sectionDiv.add(contentDiv);
         document.add(sectionDiv);
     }
 
-    private void addListSection(Document document, String title, java.util.List<String> items, Color accentColor) {
+    private void addListSection(Document document, String title, java.util.List<String> items, Color accentColor, boolean streaming) {
+        Color background = new DeviceRgb(254, 249, 195); // bg-yellow-50
+        Color border = new DeviceRgb(254, 240, 138); // border-yellow-200
+        int length = items.stream().mapToInt(item -> item.length() + LIST_ITEM_CHARS).sum();
+        if (streaming || length > SECTION_MAX_CHARS) {
+            int chunks = (items.size() + CHUNK_ITEMS - 1) / CHUNK_ITEMS;
+            addSplitSection(document, title, accentColor, chunks, i -> sectionList(
+                    items.subList(i * CHUNK_ITEMS, Math.min(items.size(), (i + 1) * CHUNK_ITEMS))).setMarginBottom(0),
+                    background, border);
+            return;
+        }
+
         // Conteneur principal pour garder titre + contenu ensemble
         Div sectionDiv = new Div()
                 .setMarginBottom(20)
                 .setKeepTogether(true); // AJOUT : Empêche la coupure de page
 
-        // Titre de section
+        // Conteneur avec fond
+        Div listDiv = new Div()
+                .setBackgroundColor(background)
+                .setPadding(15)
+                .setBorder(new SolidBorder(border, 1));
+
+        listDiv.add(sectionList(items));
+
+        sectionDiv.add(sectionTitle(title, accentColor));
+        sectionDiv.add(listDiv);
+        document.add(sectionDiv);
+    }
+
+    /**
+     * Section trop longue pour une page : titre lié au premier morceau (keepWithNext), puis un bloc
+     * de premier niveau par morceau, coupé librement entre les pages. Les blocs se suivent sans marge
+     * et ne gardent que les bordures extérieures : rendu identique à un seul cadre. Chaque morceau
+     * est construit au moment de l'ajouter, puis libéré avec sa page en rendu en flux.
+     */
+    private void addSplitSection(Document document, String title, Color accentColor, int chunks,
+                                 IntFunction<IBlockElement> chunk, Color background, Color border) {
+        document.add(sectionTitle(title, accentColor).setKeepWithNext(true));
+        for (int i = 0; i < chunks; i++) {
+            boolean first = i == 0;
+            boolean last = i == chunks - 1;
+            Div chunkDiv = new Div()
+                    .setBackgroundColor(background)
+                    .setPaddingLeft(15)
+                    .setPaddingRight(15)
+                    .setPaddingTop(first ? 15 : 0)
+                    .setPaddingBottom(last ? 15 : 0)
+                    .setMarginBottom(last ? 20 : 0)
+                    .setBorderLeft(new SolidBorder(border, 1))
+                    .setBorderRight(new SolidBorder(border, 1))
+                    .setBorderTop(first ? new SolidBorder(border, 1) : Border.NO_BORDER)
+                    .setBorderBottom(last ? new SolidBorder(border, 1) : Border.NO_BORDER);
+            chunkDiv.add(chunk.apply(i));
+            document.add(chunkDiv);
+        }
+    }
+
+    // Barre colorée + titre
+    private Table sectionTitle(String title, Color accentColor) {
         Table titleTable = new Table(new float[]{1, 20});
         titleTable.setWidth(UnitValue.createPercentValue(100));
         titleTable.setMarginBottom(15);
@@ -314,8 +427,19 @@ public class PdfService {
 
         titleTable.addCell(colorBar);
         titleTable.addCell(titleCell);
+        return titleTable;
+    }
 
-        // Liste avec puces modernes
+    private Paragraph sectionParagraph(String content) {
+        return new Paragraph(content)
+                .setFontSize(11)
+                .setFontColor(DARK_GRAY)
+                .setMargin(0)
+                .setTextAlignment(TextAlignment.JUSTIFIED);
+    }
+
+    // Liste avec puces modernes
+    private List sectionList(java.util.List<String> items) {
         List list = new List()
                 .setMarginLeft(20)
                 .setMarginBottom(20);
@@ -329,18 +453,45 @@ public class PdfService {
                     .setMarginBottom(8);
             list.add(listItem);
         }
+        return list;
+    }
 
-        // Conteneur avec fond
-        Div listDiv = new Div()
-                .setBackgroundColor(new DeviceRgb(254, 249, 195)) // bg-yellow-50
-                .setPadding(15)
-                .setBorder(new SolidBorder(new DeviceRgb(254, 240, 138), 1)); // border-yellow-200
-
-        listDiv.add(list);
+    // Coupe aux fins de ligne, puis aux espaces au-delà de CHUNK_CHARS (paragraphe sans retour à la ligne)
+    private static java.util.List<String> splitText(String content) {
+        java.util.List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : content.split("\\R", -1)) {
+            if (current.length() > 0 && current.length() + line.length() > CHUNK_CHARS) {
+                chunks.add(current.toString());
+                current.setLength(0);
+            }
+            while (line.length() > CHUNK_CHARS) {
+                int cut = line.lastIndexOf(' ', CHUNK_CHARS);
+                cut = cut > 0 ? cut : CHUNK_CHARS;
+                chunks.add(line.substring(0, cut));
+                line = line.substring(cut).stripLeading();
+            }
+            if (current.length() > 0) {
+                current.append('\n');
+            }
+            current.append(line);
+        }
+        if (current.length() > 0) {
+            chunks.add(current.toString());
+        }
+        return chunks;
+    }
 
-        sectionDiv.add(titleTable);
-        sectionDiv.add(listDiv);
-        document.add(sectionDiv);
+    private static int contentLength(Brief brief) {
+        int length = brief.getDescription() != null ? brief.getDescription().length() : 0;
+        length += brief.getConstraints() != null ? brief.getConstraints().length() : 0;
+        for (String item : brief.getObjectives()) {
+            length += item.length() + LIST_ITEM_CHARS;
+        }
+        for (String item : brief.getDeliverables()) {
+            length += item.length() + LIST_ITEM_CHARS;
+        }
+        return length;
     }
 
     private void addValidationSection(Document document, Brief brief, Locale locale) {
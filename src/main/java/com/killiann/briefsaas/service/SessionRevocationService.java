@@ -0,0 +1,136 @@
+package com.killiann.briefsaas.service;
+
+import com.killiann.briefsaas.entity.RevokedSession;
+import com.killiann.briefsaas.repository.RevokedSessionRepository;
+import com.killiann.briefsaas.util.BloomFilter;
+import com.killiann.briefsaas.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sessions révoquées, en mémoire : un filtre de Bloom écarte sans coût l'immense majorité des
+ * jetons (non révoqués), une table exacte confirme les rares positifs. La base est la référence ;
+ * chaque instance la relit de façon incrémentale ({@code revoked_at} depuis le dernier passage).
+ * Une entrée n'est utile que le temps de vie d'un jeton d'accès, puis elle est oubliée.
+ */
+@Service
+public class SessionRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionRevocationService.class);
+
+    // Marge sur le filigrane : horloges des instances et transactions validées en retard
+    private static final Duration OVERLAP = Duration.ofMinutes(1);
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final RevokedSessionRepository revokedSessionRepository;
+    private final Duration accessTtl;
+    private final Duration rebuildInterval;
+
+    private volatile Snapshot snapshot = Snapshot.create(Map.of(), 1024);
+    private Instant watermark = Instant.EPOCH;
+    private Instant nextRebuildAt = Instant.EPOCH;
+
+    public SessionRevocationService(RevokedSessionRepository revokedSessionRepository,
+                                    JwtUtil jwtUtil,
+                                    @Value("${app.auth.revocation-rebuild-interval:PT10M}") Duration rebuildInterval) {
+        this.revokedSessionRepository = revokedSessionRepository;
+        this.accessTtl = jwtUtil.getAccessTtl();
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    public boolean isRevoked(String sessionId) {
+        Snapshot current = snapshot;
+        return current.bloom.mightContain(sessionId) && current.exact.containsKey(sessionId);
+    }
+
+    @Transactional
+    public void revoke(Collection<String> sessionIds) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(accessTtl);
+        revokedSessionRepository.saveAll(sessionIds.stream()
+                .map(id -> new RevokedSession(id, now, expiresAt))
+                .toList());
+        // Effet immédiat sur cette instance ; les autres l'apprennent au prochain rafraîchissement
+        Snapshot current = snapshot;
+        for (String id : sessionIds) {
+            current.add(id, expiresAt);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.revocation-refresh-interval:PT5S}")
+    public void refresh() {
+        Instant now = Instant.now();
+        try {
+            List<RevokedSession> changes = revokedSessionRepository
+                    .findByRevokedAtGreaterThanEqualAndExpiresAtAfter(watermark.minus(OVERLAP), now);
+            Snapshot current = snapshot;
+            for (RevokedSession session : changes) {
+                current.add(session.getSessionId(), session.getExpiresAt());
+            }
+            watermark = now;
+
+            if (now.isAfter(nextRebuildAt) || current.exact.size() > current.capacity) {
+                rebuild(now);
+            }
+        } catch (Exception e) {
+            // Le cache courant reste en place ; le filigrane n'avance pas, rien n'est perdu
+            log.warn("Revoked sessions refresh failed", e);
+        }
+    }
+
+    // Bloom ne permet pas de retirer : reconstruit périodiquement sans les entrées expirées
+    private void rebuild(Instant now) {
+        Map<String, Instant> live = new ConcurrentHashMap<>();
+        snapshot.exact.forEach((id, expiresAt) -> {
+            if (expiresAt.isAfter(now)) {
+                live.put(id, expiresAt);
+            }
+        });
+        snapshot = Snapshot.create(live, Math.max(1024, live.size() * 2));
+        nextRebuildAt = now.plus(rebuildInterval);
+
+        int purged = revokedSessionRepository.deleteExpiredBefore(now);
+        log.debug("Revoked sessions rebuilt: {} live, {} expired rows purged", live.size(), purged);
+    }
+
+    public int size() {
+        return snapshot.exact.size();
+    }
+
+    private static final class Snapshot {
+
+        private final BloomFilter bloom;
+        private final ConcurrentHashMap<String, Instant> exact;
+        private final int capacity;
+
+        private Snapshot(BloomFilter bloom, ConcurrentHashMap<String, Instant> exact, int capacity) {
+            this.bloom = bloom;
+            this.exact = exact;
+            this.capacity = capacity;
+        }
+
+        static Snapshot create(Map<String, Instant> entries, int capacity) {
+            Snapshot snapshot = new Snapshot(BloomFilter.create(capacity, FALSE_POSITIVE_RATE),
+                    new ConcurrentHashMap<>(), capacity);
+            entries.forEach(snapshot::add);
+            return snapshot;
+        }
+
+        // Table exacte d'abord : un lecteur qui voit le bit posé trouve l'entrée
+        void add(String sessionId, Instant expiresAt) {
+            exact.put(sessionId, expiresAt);
+            bloom.put(sessionId);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.killiann.briefsaas.service;
+
+import com.killiann.briefsaas.dto.AuthResponse;
+import com.killiann.briefsaas.entity.RefreshToken;
+import com.killiann.briefsaas.entity.User;
+import com.killiann.briefsaas.repository.RefreshTokenRepository;
+import com.killiann.briefsaas.repository.RevokedSessionRepository;
+import com.killiann.briefsaas.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sessions : jeton d'accès court (vérifié sans base) + jeton de rafraîchissement opaque,
+ * haché en base et remplacé à chaque usage. Révoquer une session bloque son rafraîchissement
+ * et, via {@link SessionRevocationService}, ses jetons d'accès encore valides.
+ *
+ * <p>Rotation et révocation d'une même session prennent le même verrou consultatif PostgreSQL :
+ * une rotation en cours se termine avant la révocation, qui voit donc le nouveau jeton.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SessionRevocationService sessionRevocationService;
+    private final RevokedSessionRepository revokedSessionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final JwtUtil jwtUtil;
+    private final Duration refreshTtl;
+
+    public TokenService(RefreshTokenRepository refreshTokenRepository,
+                        SessionRevocationService sessionRevocationService,
+                        RevokedSessionRepository revokedSessionRepository,
+                        JdbcTemplate jdbcTemplate,
+                        JwtUtil jwtUtil,
+                        @Value("${app.auth.refresh-ttl:P30D}") Duration refreshTtl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.sessionRevocationService = sessionRevocationService;
+        this.revokedSessionRepository = revokedSessionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.jwtUtil = jwtUtil;
+        this.refreshTtl = refreshTtl;
+    }
+
+    @Transactional
+    public AuthResponse issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    // Une réutilisation détectée révoque la session : cette révocation doit survivre au 401
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public AuthResponse refresh(String rawRefreshToken) {
+        if (rawRefreshToken == null || rawRefreshToken.isBlank()) {
+            throw invalid();
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawRefreshToken))
+                .orElseThrow(TokenService::invalid);
+
+        Instant now = Instant.now();
+        if (current.getRevokedAt() != null || current.getExpiresAt().isBefore(now) || current.getUser().isDeleted()) {
+            throw invalid();
+        }
+        // Session révoquée pendant la lecture : le jeton lu peut être antérieur à la révocation
+        lockSession(current.getSessionId());
+        if (revokedSessionRepository.existsById(current.getSessionId())) {
+            throw invalid();
+        }
+
+        if (refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            // Jeton déjà consommé : probablement volé, la session entière est coupée
+            log.warn("Refresh token reuse detected, revoking session {}", current.getSessionId());
+            revokeSessions(List.of(current.getSessionId()));
+            throw invalid();
+        }
+
+        return issue(current.getUser(), current.getSessionId());
+    }
+
+    @Transactional
+    public void logout(String rawRefreshToken) {
+        if (rawRefreshToken == null || rawRefreshToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(rawRefreshToken))
+                .ifPresent(token -> revokeSessions(List.of(token.getSessionId())));
+    }
+
+    @Transactional
+    public void revokeAllSessions(User user) {
+        List<String> sessionIds = refreshTokenRepository.findActiveSessionIds(user.getId(), Instant.now());
+        if (!sessionIds.isEmpty()) {
+            revokeSessions(sessionIds);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.refresh-cleanup-interval:PT1H}",
+            initialDelayString = "${app.auth.refresh-cleanup-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(Instant.now());
+        if (deleted > 0) {
+            log.info("Expired refresh tokens deleted: {}", deleted);
+        }
+    }
+
+    private AuthResponse issue(User user, String sessionId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawRefreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawRefreshToken))
+                .sessionId(sessionId)
+                .user(user)
+                .createdAt(now)
+                .expiresAt(now.plus(refreshTtl))
+                .build());
+
+        return new AuthResponse(
+                jwtUtil.generateAccessToken(user.getEmail(), sessionId),
+                rawRefreshToken,
+                jwtUtil.getAccessTtl().toSeconds());
+    }
+
+    private void revokeSessions(List<String> sessionIds) {
+        Instant now = Instant.now();
+        // Ordre fixe : deux révocations de plusieurs sessions ne s'interbloquent pas
+        for (String sessionId : sessionIds.stream().sorted().toList()) {
+            lockSession(sessionId);
+            refreshTokenRepository.revokeSession(sessionId, now);
+        }
+        sessionRevocationService.revoke(sessionIds);
+    }
+
+    // Verrou libéré au commit de la transaction courante
+    private void lockSession(String sessionId) {
+        jdbcTemplate.query("select pg_advisory_xact_lock(hashtext(?))", rs -> {
+        }, "session:" + sessionId);
+    }
+
+    // Jeton aléatoire de 256 bits : un SHA-256 sans sel suffit et permet la recherche par index
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token invalide ou expiré");
+    }
+}
@@ -0,0 +1,102 @@
+package com.killiann.briefsaas.service;
+
+import com.killiann.briefsaas.repository.EmailVerificationTokenRepository;
+import com.killiann.briefsaas.repository.RefreshTokenRepository;
+import com.killiann.briefsaas.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Nettoyage périodique : comptes jamais vérifiés au-delà de la période de rétention, et
+ * anciens jetons de vérification stockés en base. Suppressions par lots, une transaction
+ * courte par lot, pour ne jamais verrouiller la table users longtemps.
+ */
+@Service
+public class UnverifiedAccountSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(UnverifiedAccountSweeper.class);
+
+    private final UserRepository userRepository;
+    private final EmailVerificationTokenRepository emailTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int chunkSize;
+
+    public UnverifiedAccountSweeper(UserRepository userRepository,
+                                    EmailVerificationTokenRepository emailTokenRepository,
+                                    RefreshTokenRepository refreshTokenRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.unverified-accounts.retention:P7D}") Duration retention,
+                                    @Value("${app.unverified-accounts.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.emailTokenRepository = emailTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.unverified-accounts.interval:PT15M}",
+            initialDelayString = "${app.unverified-accounts.interval:PT15M}")
+    public void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        try {
+            long accounts = 0;
+            int deleted;
+            while ((deleted = deleteAccountChunk(cutoff)) > 0) {
+                accounts += deleted;
+            }
+
+            long tokens = 0;
+            while ((deleted = deleteTokenChunk(cutoff)) > 0) {
+                tokens += deleted;
+            }
+
+            if (accounts > 0 || tokens > 0) {
+                log.info("Unverified account sweep: {} accounts, {} legacy tokens deleted", accounts, tokens);
+            }
+        } catch (Exception e) {
+            // Lots déjà supprimés conservés ; le reste est repris au prochain passage
+            log.error("Unverified account sweep failed", e);
+        }
+    }
+
+    // Lignes réellement supprimées ; un lot entièrement verrouillé ailleurs arrête le passage, repris au suivant
+    private int deleteAccountChunk(LocalDateTime cutoff) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = userRepository.findStaleUnverifiedIds(cutoff, Limit.of(chunkSize));
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            // Seuls les comptes verrouillés perdent leurs jetons : un compte vérifié entre-temps garde ses sessions
+            List<Long> locked = userRepository.lockUnverified(ids);
+            if (locked.isEmpty()) {
+                return 0;
+            }
+            emailTokenRepository.deleteByUserIdIn(locked);
+            refreshTokenRepository.deleteByUserIdIn(locked);
+            return userRepository.deleteUnverifiedByIdIn(locked);
+        });
+    }
+
+    private int deleteTokenChunk(LocalDateTime cutoff) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = emailTokenRepository.findIdsExpiredBefore(cutoff, Limit.of(chunkSize));
+            if (!ids.isEmpty()) {
+                emailTokenRepository.deleteAllByIdInBatch(ids);
+            }
+            return ids.size();
+        });
+    }
+}
@@ -2,9 +2,7 @@ package com.killiann.briefsaas.service;
 
 import com.killiann.briefsaas.entity.User;
 import com.killiann.briefsaas.exception.NotFoundException;
-import com.killiann.briefsaas.repository.ClientRepository;
 import com.killiann.briefsaas.repository.UserRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -14,7 +12,7 @@ import org.springframework.stereotype.Service;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final ClientRepository clientRepository;
+    private final AccountPurgeService accountPurgeService;
 
     public User getCurrentUser() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -22,12 +20,11 @@ public class UserService {
                 .orElseThrow(() -> new NotFoundException("User not found"));
     }
 
-    @Transactional
+    // Le compte est désactivé immédiatement, ses données sont purgées en arrière-plan
     public void delete(User user) {
-        if (!userRepository.existsById(user.getId())) {
+        if (user.isDeleted()) {
             throw new NotFoundException("User not found");
         }
-        clientRepository.deleteByOwner(user);
-        userRepository.deleteById(user.getId());
+        accountPurgeService.requestDeletion(user);
     }
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.killiann.briefsaas.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Delta binaire entre deux versions d'un document : copies de plages de la base et octets
+ * littéraux, dans l'esprit de VCDIFF / xdelta, sans fenêtrage (documents de quelques Ko).
+ *
+ * <p>Format : longueur de la cible (varint), puis une suite d'opérations
+ * {@code COPY offset longueur} ou {@code ADD longueur octets}.
+ * La base est indexée par blocs alignés de {@value #BLOCK} octets, la cible parcourue
+ * à chaque position : un passage déplacé est retrouvé, une correspondance est ensuite
+ * étendue des deux côtés.
+ */
+public final class DeltaCodec {
+
+    private static final int BLOCK = 16;
+    private static final byte COPY = 0;
+    private static final byte ADD = 1;
+
+    private DeltaCodec() {
+    }
+
+    public static byte[] encode(byte[] base, byte[] target) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        writeVarint(out, target.length);
+
+        Map<Integer, Integer> blocks = new HashMap<>();
+        for (int i = 0; i + BLOCK <= base.length; i += BLOCK) {
+            blocks.putIfAbsent(hash(base, i), i);
+        }
+
+        int literalStart = 0;
+        int pos = 0;
+        while (pos + BLOCK <= target.length) {
+            Integer candidate = blocks.get(hash(target, pos));
+            if (candidate == null || !Arrays.equals(base, candidate, candidate + BLOCK, target, pos, pos + BLOCK)) {
+                pos++;
+                continue;
+            }
+            int baseStart = candidate;
+            int targetStart = pos;
+            while (targetStart > literalStart && baseStart > 0 && base[baseStart - 1] == target[targetStart - 1]) {
+                baseStart--;
+                targetStart--;
+            }
+            int baseEnd = candidate + BLOCK;
+            int targetEnd = pos + BLOCK;
+            while (baseEnd < base.length && targetEnd < target.length && base[baseEnd] == target[targetEnd]) {
+                baseEnd++;
+                targetEnd++;
+            }
+            writeAdd(out, target, literalStart, targetStart);
+            out.write(COPY);
+            writeVarint(out, baseStart);
+            writeVarint(out, baseEnd - baseStart);
+            pos = literalStart = targetEnd;
+        }
+        writeAdd(out, target, literalStart, target.length);
+        return out.toByteArray();
+    }
+
+    public static byte[] apply(byte[] base, byte[] delta) {
+        ByteBuffer in = ByteBuffer.wrap(delta);
+        try {
+            byte[] target = new byte[readVarint(in)];
+            int pos = 0;
+            while (in.hasRemaining()) {
+                byte op = in.get();
+                int length;
+                if (op == COPY) {
+                    int offset = readVarint(in);
+                    length = readVarint(in);
+                    System.arraycopy(base, offset, target, pos, length);
+                } else if (op == ADD) {
+                    length = readVarint(in);
+                    in.get(target, pos, length);
+                } else {
+                    throw new IllegalArgumentException("Corrupt delta: unknown operation " + op);
+                }
+                pos += length;
+            }
+            if (pos != target.length) {
+                throw new IllegalArgumentException("Corrupt delta: " + pos + " bytes written, " + target.length + " expected");
+            }
+            return target;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Corrupt delta", e);
+        }
+    }
+
+    public static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated deflate stream");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt deflate stream", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeAdd(ByteArrayOutputStream out, byte[] target, int from, int to) {
+        if (to > from) {
+            out.write(ADD);
+            writeVarint(out, to - from);
+            out.write(target, from, to - from);
+        }
+    }
+
+    private static int hash(byte[] data, int offset) {
+        int h = 0;
+        for (int i = offset; i < offset + BLOCK; i++) {
+            h = 31 * h + data[i];
+        }
+        return h;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Corrupt delta: varint too long");
+    }
+}
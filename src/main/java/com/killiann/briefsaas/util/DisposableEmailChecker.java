@@ -1,37 +1,84 @@
 package com.killiann.briefsaas.util;
 
-import jakarta.annotation.PostConstruct;
-import org.springframework.core.io.ClassPathResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.HashSet;
-import java.util.Set;
+import java.io.UncheckedIOException;
 
 @Component
 public class DisposableEmailChecker {
 
-    private final Set<String> disposableDomains = new HashSet<>();
+    private static final Logger log = LoggerFactory.getLogger(DisposableEmailChecker.class);
 
-    @PostConstruct
-    public void loadDisposableDomains() throws IOException {
-        try (InputStream is = getClass().getClassLoader().getResourceAsStream("disposable_domains.txt")) {
-            assert is != null;
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    disposableDomains.add(line.trim().toLowerCase());
+    // Version binaire générée au build (voir DomainSuffixMatcher#main), la liste texte en secours
+    private static final String BINARY_LIST = "classpath:disposable_domains.bin";
+    private static final String TEXT_LIST = "classpath:disposable_domains.txt";
+
+    // Liste externe optionnelle (file:... ou https://...) rechargée périodiquement
+    @Value("${app.disposable-domains.location:}")
+    private String externalLocation;
+
+    private final DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+
+    // Remplacé d'un bloc au rechargement : les lectures ne sont jamais bloquées
+    private volatile DomainSuffixMatcher matcher;
+
+    // Chargée à la première inscription plutôt qu'au démarrage
+    private DomainSuffixMatcher matcher() {
+        DomainSuffixMatcher current = matcher;
+        if (current == null) {
+            synchronized (this) {
+                current = matcher;
+                if (current == null) {
+                    current = loadBundledList();
+                    matcher = current;
                 }
             }
         }
+        return current;
+    }
+
+    private DomainSuffixMatcher loadBundledList() {
+        Resource binary = resourceLoader.getResource(BINARY_LIST);
+        try {
+            return load(binary.exists() ? binary : resourceLoader.getResource(TEXT_LIST));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load disposable domain list", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.disposable-domains.refresh-interval:PT1H}")
+    public void reload() {
+        if (externalLocation.isBlank()) {
+            return;
+        }
+        try {
+            DomainSuffixMatcher reloaded = load(resourceLoader.getResource(externalLocation));
+            if (reloaded.size() == 0) {
+                log.warn("Disposable domain list at {} is empty, keeping the current list", externalLocation);
+                return;
+            }
+            matcher = reloaded;
+            log.info("Disposable domain list reloaded from {} ({} domains)", externalLocation, reloaded.size());
+        } catch (IOException e) {
+            log.warn("Failed to reload disposable domain list from {}: {}", externalLocation, e.getMessage());
+        }
     }
 
     public boolean isDisposable(String email) {
-        String domain = email.substring(email.indexOf("@") + 1).toLowerCase();
-        return disposableDomains.contains(domain);
+        return matcher().matchesEmail(email);
+    }
+
+    private DomainSuffixMatcher load(Resource resource) throws IOException {
+        try (InputStream is = resource.getInputStream()) {
+            return DomainSuffixMatcher.load(is);
+        }
     }
-}
\ No newline at end of file
+}
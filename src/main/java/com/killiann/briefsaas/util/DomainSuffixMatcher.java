@@ -0,0 +1,248 @@
+package com.killiann.briefsaas.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Trie compact des domaines, construit sur les caractères inversés ("com.mailinator" lu de droite
+ * à gauche). Un domaine correspond s'il est égal à une entrée ou s'il en est un sous-domaine
+ * ({@code x.mailinator.com}). La recherche parcourt la chaîne en place, sans allocation.
+ *
+ * <p>Les nœuds sont numérotés en largeur : les arêtes d'un nœud sont contiguës et la cible de
+ * l'arête {@code e} est le nœud {@code e + 1}, ce qui évite de stocker les cibles.
+ */
+public final class DomainSuffixMatcher {
+
+    private static final int MAGIC = 0x44534D31; // "DSM1"
+
+    private final int domainCount;
+    private final int[] edgeStart;   // arêtes du nœud n : [edgeStart[n], edgeStart[n + 1])
+    private final char[] edgeChars;  // triées par nœud
+    private final long[] terminal;   // bitset des nœuds qui terminent un domaine
+
+    private DomainSuffixMatcher(int domainCount, int[] edgeStart, char[] edgeChars, long[] terminal) {
+        this.domainCount = domainCount;
+        this.edgeStart = edgeStart;
+        this.edgeChars = edgeChars;
+        this.terminal = terminal;
+    }
+
+    public int size() {
+        return domainCount;
+    }
+
+    /**
+     * Vérifie le domaine d'une adresse email (partie après le dernier {@code @}).
+     */
+    public boolean matchesEmail(CharSequence email) {
+        int end = email.length();
+        int at = end - 1;
+        while (at >= 0 && email.charAt(at) != '@') {
+            at--;
+        }
+        return matches(email, at + 1, end);
+    }
+
+    public boolean matches(CharSequence domain) {
+        return matches(domain, 0, domain.length());
+    }
+
+    public boolean matches(CharSequence s, int start, int end) {
+        while (end > start && s.charAt(end - 1) == '.') {
+            end--;
+        }
+        int node = 0;
+        for (int i = end - 1; i >= start; i--) {
+            node = child(node, lower(s.charAt(i)));
+            if (node < 0) {
+                return false;
+            }
+            if ((i == start || s.charAt(i - 1) == '.') && isTerminal(node)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int child(int node, char c) {
+        int lo = edgeStart[node];
+        int hi = edgeStart[node + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char m = edgeChars[mid];
+            if (m < c) {
+                lo = mid + 1;
+            } else if (m > c) {
+                hi = mid - 1;
+            } else {
+                return mid + 1;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isTerminal(int node) {
+        return (terminal[node >>> 6] & (1L << node)) != 0;
+    }
+
+    private static char lower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    // --- Construction ---
+
+    public static DomainSuffixMatcher build(Collection<String> domains) {
+        // Trie temporaire (construction uniquement), aplati ensuite en largeur
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Boolean> ends = new ArrayList<>();
+        children.add(new TreeMap<>());
+        ends.add(false);
+
+        int count = 0;
+        for (String raw : domains) {
+            String domain = raw.trim().toLowerCase(Locale.ROOT);
+            if (domain.isEmpty() || domain.startsWith("#")) {
+                continue;
+            }
+            int node = 0;
+            for (int i = domain.length() - 1; i >= 0; i--) {
+                char c = domain.charAt(i);
+                Integer next = children.get(node).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    ends.add(false);
+                    children.get(node).put(c, next);
+                }
+                node = next;
+            }
+            if (!ends.get(node)) {
+                ends.set(node, true);
+                count++;
+            }
+        }
+
+        int nodeCount = children.size();
+        int[] edgeStart = new int[nodeCount + 1];
+        char[] edgeChars = new char[nodeCount - 1];
+        long[] terminal = new long[(nodeCount + 63) >>> 6];
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        int bfsId = 0;
+        int edge = 0;
+        while (!queue.isEmpty()) {
+            int oldNode = queue.poll();
+            if (ends.get(oldNode)) {
+                terminal[bfsId >>> 6] |= 1L << bfsId;
+            }
+            edgeStart[bfsId] = edge;
+            for (Map.Entry<Character, Integer> e : children.get(oldNode).entrySet()) {
+                edgeChars[edge++] = e.getKey();
+                queue.add(e.getValue());
+            }
+            bfsId++;
+        }
+        edgeStart[nodeCount] = edge;
+
+        return new DomainSuffixMatcher(count, edgeStart, edgeChars, terminal);
+    }
+
+    // --- Format binaire ---
+
+    /**
+     * Format : en-tête, nombre d'enfants par nœud (1 octet), caractères des arêtes (1 octet,
+     * domaines ASCII / punycode) puis bitset des nœuds terminaux. Les offsets sont recalculés au chargement.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        int nodeCount = edgeStart.length - 1;
+        byte[] childCounts = new byte[nodeCount];
+        for (int n = 0; n < nodeCount; n++) {
+            childCounts[n] = (byte) (edgeStart[n + 1] - edgeStart[n]);
+        }
+        byte[] chars = new byte[edgeChars.length];
+        for (int e = 0; e < edgeChars.length; e++) {
+            if (edgeChars[e] > 0x7F) {
+                throw new IOException("Non-ASCII domain character: " + edgeChars[e]);
+            }
+            chars[e] = (byte) edgeChars[e];
+        }
+
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(domainCount);
+        data.writeInt(nodeCount);
+        data.write(childCounts);
+        data.write(chars);
+        for (long bits : terminal) {
+            data.writeLong(bits);
+        }
+        data.flush();
+    }
+
+    /**
+     * Charge une liste au format binaire ou texte (un domaine par ligne), détecté par l'en-tête.
+     */
+    public static DomainSuffixMatcher load(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        buffered.mark(4);
+        DataInputStream data = new DataInputStream(buffered);
+        byte[] head = buffered.readNBytes(4);
+        int header = head.length == 4
+                ? (head[0] & 0xFF) << 24 | (head[1] & 0xFF) << 16 | (head[2] & 0xFF) << 8 | (head[3] & 0xFF)
+                : 0;
+        if (header != MAGIC) {
+            buffered.reset();
+            return readText(buffered);
+        }
+
+        int domainCount = data.readInt();
+        int nodeCount = data.readInt();
+        byte[] childCounts = new byte[nodeCount];
+        data.readFully(childCounts);
+
+        int[] edgeStart = new int[nodeCount + 1];
+        for (int n = 0; n < nodeCount; n++) {
+            edgeStart[n + 1] = edgeStart[n] + (childCounts[n] & 0xFF);
+        }
+        byte[] chars = new byte[nodeCount - 1];
+        data.readFully(chars);
+        char[] edgeChars = new char[chars.length];
+        for (int e = 0; e < chars.length; e++) {
+            edgeChars[e] = (char) chars[e];
+        }
+        long[] terminal = new long[(nodeCount + 63) >>> 6];
+        for (int i = 0; i < terminal.length; i++) {
+            terminal[i] = data.readLong();
+        }
+        return new DomainSuffixMatcher(domainCount, edgeStart, edgeChars, terminal);
+    }
+
+    private static DomainSuffixMatcher readText(InputStream in) throws IOException {
+        List<String> domains = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            domains.add(line);
+        }
+        return build(domains);
+    }
+
+    /**
+     * Compile la liste texte en binaire au build : {@code <source.txt> <cible.bin>}.
+     */
+    public static void main(String[] args) throws IOException {
+        DomainSuffixMatcher matcher;
+        try (InputStream in = Files.newInputStream(Path.of(args[0]))) {
+            matcher = load(in);
+        }
+        Path target = Path.of(args[1]);
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        try (OutputStream out = Files.newOutputStream(target)) {
+            matcher.writeTo(out);
+        }
+    }
+}
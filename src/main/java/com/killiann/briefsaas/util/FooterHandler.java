@@ -3,6 +3,8 @@ package com.killiann.briefsaas.util;
 import com.itextpdf.kernel.events.Event;
 import com.itextpdf.kernel.events.IEventHandler;
 import com.itextpdf.kernel.events.PdfDocumentEvent;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.kernel.pdf.PdfDocument;
@@ -10,9 +12,15 @@ import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.Canvas;
 import com.itextpdf.kernel.colors.ColorConstants;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Year;
 
 public class FooterHandler implements IEventHandler {
+
+    // Une police pour tout le document : sans elle, chaque Canvas crée (et le PDF garde) sa propre Helvetica
+    private PdfFont font;
+
     @Override
     public void handleEvent(Event event) {
         PdfDocumentEvent docEvent = (PdfDocumentEvent) event;
@@ -23,6 +31,7 @@ public class FooterHandler implements IEventHandler {
         PdfCanvas pdfCanvas = new PdfCanvas(page.newContentStreamAfter(), page.getResources(), pdfDoc);
 
         Canvas canvas = new Canvas(pdfCanvas, pageSize);
+        canvas.setFont(font());
         canvas.setFontSize(10);
         canvas.setFontColor(ColorConstants.GRAY);
         canvas.showTextAligned(
@@ -33,4 +42,15 @@ public class FooterHandler implements IEventHandler {
         );
         canvas.close();
     }
-}
\ No newline at end of file
+
+    private PdfFont font() {
+        if (font == null) {
+            try {
+                font = PdfFontFactory.createFont();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return font;
+    }
+}
@@ -0,0 +1,178 @@
+package com.killiann.briefsaas.util;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
+import com.google.api.client.googleapis.auth.oauth2.GoogleOAuthConstants;
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Vérificateur de ID tokens Google partagé par toute l'application.
+ * Les clés publiques sont gardées jusqu'à leur expiration HTTP (Cache-Control max-age) et
+ * rechargées en tâche de fond avant expiration ; une seule récupération est en vol à la fois,
+ * les requêtes continuent d'utiliser les clés courantes pendant ce temps.
+ * Créé à la première connexion Google pour ne pas charger le client HTTP Google au démarrage.
+ */
+@Component
+@Lazy
+public class GoogleTokenVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(GoogleTokenVerifier.class);
+
+    private static final long REFRESH_AHEAD_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final long RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    // Google publie les nouvelles clés bien avant de retirer les anciennes
+    private static final long STALE_GRACE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private record KeySet(List<PublicKey> keys, long expiresAt) {
+    }
+
+    private final GooglePublicKeysManager keysManager;
+    private final GoogleIdTokenVerifier verifier;
+    private final ScheduledExecutorService refresher;
+    private final AtomicReference<KeySet> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<KeySet>> inFlight = new AtomicReference<>();
+
+    public GoogleTokenVerifier(@Value("${google.client.id}") String googleClientId,
+                               @Value("${google.certs-url:" + GoogleOAuthConstants.DEFAULT_PUBLIC_CERTS_ENCODED_URL + "}") String certsUrl) {
+        JsonFactory jsonFactory = GsonFactory.getDefaultInstance();
+        this.keysManager = new GooglePublicKeysManager.Builder(new NetHttpTransport(), jsonFactory)
+                .setPublicCertsEncodedUrl(certsUrl)
+                .build();
+        this.verifier = new CachedKeysVerifier(new GoogleIdTokenVerifier.Builder(keysManager)
+                .setAudience(Collections.singletonList(googleClientId)));
+        this.refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "google-keys-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        // Préchargement asynchrone : ne retarde pas le démarrage
+        refresher.execute(this::refreshInBackground);
+    }
+
+    /**
+     * @return le token décodé, ou null si la signature ou le payload est invalide
+     */
+    public GoogleIdToken verify(String idToken) throws GeneralSecurityException, IOException {
+        return verifier.verify(idToken);
+    }
+
+    List<PublicKey> currentKeys() throws GeneralSecurityException, IOException {
+        KeySet keySet = current.get();
+        long now = System.currentTimeMillis();
+
+        // Clés expirées mais dans la période de grâce : le rafraîchissement planifié réessaie déjà
+        if (keySet != null && now < keySet.expiresAt() + STALE_GRACE_MILLIS) {
+            return keySet.keys();
+        }
+
+        // Aucune clé exploitable (démarrage à froid) : attente de l'unique récupération en cours
+        try {
+            return fetchKeys().get(10, TimeUnit.SECONDS).keys();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof GeneralSecurityException gse) throw gse;
+            if (e.getCause() instanceof IOException ioe) throw ioe;
+            throw new IOException("Failed to load Google public keys", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading Google public keys", e);
+        } catch (TimeoutException e) {
+            throw new IOException("Timed out loading Google public keys", e);
+        }
+    }
+
+    private CompletableFuture<KeySet> fetchKeys() {
+        CompletableFuture<KeySet> future = new CompletableFuture<>();
+        CompletableFuture<KeySet> existing = inFlight.compareAndExchange(null, future);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            // Une récupération a pu se terminer entre la lecture de current et cet appel
+            KeySet latest = current.get();
+            if (latest != null && System.currentTimeMillis() < latest.expiresAt() - REFRESH_AHEAD_MILLIS) {
+                future.complete(latest);
+                return future;
+            }
+            keysManager.refresh();
+            KeySet keySet = new KeySet(List.copyOf(keysManager.getPublicKeys()), keysManager.getExpirationTimeMilliseconds());
+            current.set(keySet);
+            future.complete(keySet);
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.set(null);
+        }
+        return future;
+    }
+
+    private void refreshInBackground() {
+        long delay;
+        try {
+            KeySet keySet = fetchKeys().join();
+            delay = Math.max(RETRY_DELAY_MILLIS, keySet.expiresAt() - REFRESH_AHEAD_MILLIS - System.currentTimeMillis());
+        } catch (Exception e) {
+            if (refresher.isShutdown()) {
+                return;
+            }
+            log.warn("Google public keys refresh failed, retrying in {} s: {}", RETRY_DELAY_MILLIS / 1000, e.getMessage());
+            delay = RETRY_DELAY_MILLIS;
+        }
+        try {
+            refresher.schedule(this::refreshInBackground, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Arrêt pendant le rafraîchissement
+        }
+    }
+
+    /**
+     * Arrête le rafraîchissement planifié et attend la fin d'une récupération en cours : l'interruption
+     * n'abandonne pas une lecture HTTP bloquante, qui sinon survivrait au contexte (ou au serveur de test).
+     */
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+        try {
+            refresher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class CachedKeysVerifier extends GoogleIdTokenVerifier {
+
+        private CachedKeysVerifier(GoogleIdTokenVerifier.Builder builder) {
+            super(builder);
+        }
+
+        @Override
+        public boolean verify(GoogleIdToken googleIdToken) throws GeneralSecurityException, IOException {
+            if (!verifyPayload(googleIdToken)) {
+                return false;
+            }
+            for (PublicKey publicKey : currentKeys()) {
+                if (googleIdToken.verifySignature(publicKey)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -6,7 +6,12 @@ import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 
 @Component
@@ -15,39 +20,104 @@ public class JwtUtil {
     @Value("${JWT_SECRET}")
     private String secretKeyEnv;
 
+    @Value("${app.auth.access-ttl:PT15M}")
+    private Duration accessTtl;
+
+    @Value("${app.email-verification.ttl:PT24H}")
+    private Duration emailVerificationTtl;
+
     private Key signingKey;
 
-    private static final long EXPIRATION_TIME = 86400000; // 24h
+    // Clé dérivée distincte : un jeton de vérification n'est pas un jeton d'accès, et inversement
+    private Key emailVerificationKey;
+
+    private static final String EMAIL_CLAIM = "email";
+    private static final String SESSION_CLAIM = "sid";
 
     @PostConstruct
     public void init() {
         this.signingKey = Keys.hmacShaKeyFor(secretKeyEnv.getBytes());
+        this.emailVerificationKey = Keys.hmacShaKeyFor(deriveKey("email-verification"));
     }
 
-    public String generateToken(String email) {
+    // Jeton d'accès court, rattaché à une session (révocable, renouvelée par jeton de rafraîchissement)
+    public String generateAccessToken(String email, String sessionId) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
+                .claim(SESSION_CLAIM, sessionId)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + accessTtl.toMillis()))
                 .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractEmail(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
+    /**
+     * Jeton d'accès vérifié (signature, expiration) en un seul décodage ; {@code null} s'il est invalide.
+     * Les jetons émis avant les sessions n'ont pas de {@code sid}.
+     */
+    public AccessClaims parseAccessToken(String token) {
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(signingKey)
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            return new AccessClaims(claims.getSubject(), claims.get(SESSION_CLAIM, String.class));
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public Duration getAccessTtl() {
+        return accessTtl;
+    }
+
+    public record AccessClaims(String email, String sessionId) {
+    }
+
+    /**
+     * Jeton de vérification d'email autoportant : id utilisateur et email signés, avec expiration.
+     * Aucune ligne en base ; l'email signé rend le lien caduc si l'adresse du compte change.
+     */
+    public String generateEmailVerificationToken(Long userId, String email) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(String.valueOf(userId))
+                .claim(EMAIL_CLAIM, email)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + emailVerificationTtl.toMillis()))
+                .signWith(emailVerificationKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Vérifie signature et expiration ; lève {@link ExpiredJwtException} ou une autre
+     * {@link JwtException} si le jeton n'est pas valide.
+     */
+    public EmailVerificationClaims parseEmailVerificationToken(String token) {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(emailVerificationKey)
                 .build()
                 .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+                .getBody();
+        try {
+            return new EmailVerificationClaims(Long.valueOf(claims.getSubject()), claims.get(EMAIL_CLAIM, String.class));
+        } catch (NumberFormatException e) {
+            throw new MalformedJwtException("Invalid subject", e);
+        }
     }
 
-    public boolean isTokenValid(String token) {
+    public record EmailVerificationClaims(Long userId, String email) {
+    }
+
+    private byte[] deriveKey(String purpose) {
         try {
-            extractEmail(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secretKeyEnv.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return mac.doFinal(purpose.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
         }
     }
-}
\ No newline at end of file
+}
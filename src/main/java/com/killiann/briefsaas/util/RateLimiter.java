@@ -0,0 +1,18 @@
+package com.killiann.briefsaas.util;
+
+import java.time.Duration;
+
+/**
+ * Limiteur de débit par clé. L'implémentation par défaut est en mémoire
+ * ({@link StripedTokenBucketRateLimiter}) ; déclarer un autre bean permet de partager
+ * les compteurs entre instances (Redis, Postgres...).
+ */
+public interface RateLimiter {
+
+    /**
+     * Consomme un jeton du bucket {@code key} ({@code capacity} jetons par {@code period}).
+     *
+     * @return 0 si la requête est acceptée, sinon le délai avant le prochain jeton en millisecondes
+     */
+    long tryAcquire(String key, int capacity, Duration period);
+}
@@ -0,0 +1,69 @@
+package com.killiann.briefsaas.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket (GCRA) : chaque bucket ne contient que l'instant théorique d'arrivée de la prochaine requête.
+ * Les buckets sont répartis sur des stripes bornées, chacune protégée par son propre verrou et tenue
+ * dans l'ordre d'accès : quand une stripe est pleine, le bucket le moins récemment utilisé est évincé en O(1).
+ * Une nouvelle clé n'est donc jamais refusée faute de place, et remettre à zéro une clé active
+ * oblige à créer {@code maxBuckets / stripes} clés entre deux de ses requêtes.
+ */
+public class StripedTokenBucketRateLimiter implements RateLimiter {
+
+    private final Map<String, Long>[] stripes;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    public StripedTokenBucketRateLimiter(int stripeCount, int maxBuckets) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        int maxBucketsPerStripe = Math.max(1, maxBuckets / size);
+        this.stripes = new Map[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > maxBucketsPerStripe;
+                }
+            };
+        }
+        this.mask = size - 1;
+    }
+
+    @Override
+    public long tryAcquire(String key, int capacity, Duration period) {
+        long now = System.nanoTime();
+        long interval = period.toNanos() / capacity;
+        long tolerance = period.toNanos() - interval;
+
+        Map<String, Long> stripe = stripeFor(key);
+        synchronized (stripe) {
+            Long arrival = stripe.get(key);
+            long start = arrival != null && arrival - now > 0 ? arrival : now;
+            long wait = start - now - tolerance;
+            if (wait > 0) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(wait));
+            }
+            stripe.put(key, start + interval);
+            return 0;
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<String, Long> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private Map<String, Long> stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+}
@@ -0,0 +1,58 @@
+package com.killiann.briefsaas.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.killiann.briefsaas.dto.BriefResponse;
+import com.killiann.briefsaas.dto.ClientDto;
+import com.killiann.briefsaas.entity.BriefStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JacksonConfigTests {
+
+	private final ObjectMapper plain = Jackson2ObjectMapperBuilder.json().build();
+	private final ObjectMapper blackbird = Jackson2ObjectMapperBuilder.json()
+			.modulesToInstall(new JacksonConfig().blackbirdModule())
+			.build();
+
+	@Test
+	void blackbirdProducesSameJson() throws Exception {
+		Page<BriefResponse> page = page(50);
+		assertEquals(plain.writeValueAsString(page), blackbird.writeValueAsString(page));
+	}
+
+	private static Page<BriefResponse> page(int size) {
+		List<BriefResponse> briefs = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			briefs.add(BriefResponse.builder()
+					.id((long) i)
+					.publicUuid(UUID.randomUUID())
+					.title("Refonte du site vitrine " + i)
+					.description("Description détaillée du projet, contexte, enjeux et public visé. ".repeat(40))
+					.objectives(List.of("Augmenter les conversions", "Moderniser l'image", "Améliorer le SEO"))
+					.targetAudience("PME et indépendants")
+					.budget("8000")
+					.deadline(LocalDate.of(2026, 3, 1))
+					.deliverables(List.of("Maquettes", "Intégration", "Recette"))
+					.constraints("Charte graphique existante")
+					.client(ClientDto.builder().id((long) i % 7).name("Client " + i % 7).email("client@example.com").build())
+					.clientValidated(i % 2 == 0)
+					.validatedAt(LocalDateTime.of(2026, 1, 15, 10, 30))
+					.status(BriefStatus.SUBMITTED)
+					.createdAt(LocalDateTime.of(2025, 12, 1, 9, 0))
+					.updatedAt(LocalDateTime.of(2026, 1, 2, 14, 0))
+					.build());
+		}
+		return new PageImpl<>(briefs, PageRequest.of(0, size), 1000);
+	}
+}
@@ -0,0 +1,47 @@
+package com.killiann.briefsaas.config;
+
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.net.ApiResource;
+import com.stripe.net.RequestOptions;
+import com.stripe.net.StripeRequest;
+import io.micrometer.observation.tck.TestObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistryAssert;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObservedStripeHttpClientTests {
+
+	@Test
+	void stripsStripeIdsFromPath() {
+		assertEquals("/v1/subscriptions/{id}", ObservedStripeHttpClient.pathTemplate("/v1/subscriptions/sub_1NxYz2AbC"));
+		assertEquals("/v1/checkout/sessions/{id}", ObservedStripeHttpClient.pathTemplate("/v1/checkout/sessions/cs_test_a1B2"));
+		assertEquals("/v1/billing_portal/sessions", ObservedStripeHttpClient.pathTemplate("/v1/billing_portal/sessions"));
+	}
+
+	@Test
+	void recordsOneObservationPerCallWithLowCardinalityTags() throws Exception {
+		TestObservationRegistry registry = TestObservationRegistry.create();
+		ObservedStripeHttpClient client = new ObservedStripeHttpClient(registry);
+		// Port fermé : échec de connexion immédiat, sans réseau
+		StripeRequest request = new StripeRequest(ApiResource.RequestMethod.GET,
+				"http://127.0.0.1:1/v1/customers/cus_Q1w2E3", Map.of(),
+				RequestOptions.builder()
+						.setApiKey("sk_test_dummy")
+						.setConnectTimeout(1000)
+						.setReadTimeout(1000)
+						.build());
+
+		assertThrows(ApiConnectionException.class, () -> client.request(request));
+
+		TestObservationRegistryAssert.assertThat(registry)
+				.hasSingleObservationThat()
+				.hasNameEqualTo("stripe.api")
+				.hasLowCardinalityKeyValue("method", "GET")
+				.hasLowCardinalityKeyValue("path", "/v1/customers/{id}")
+				.hasLowCardinalityKeyValue("status", "none")
+				.hasError();
+	}
+}
@@ -0,0 +1,83 @@
+package com.killiann.briefsaas.config;
+
+import com.killiann.briefsaas.util.JwtUtil;
+import com.killiann.briefsaas.util.StripedTokenBucketRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RateLimitFilterTests {
+
+	private RateLimitFilter filter;
+
+	// Configuration réelle du profil prod, sans variable d'environnement
+	@BeforeEach
+	void prodFilter() throws Exception {
+		StandardEnvironment environment = new StandardEnvironment();
+		new YamlPropertySourceLoader().load("prod", new ClassPathResource("application-prod.yml"))
+				.forEach(environment.getPropertySources()::addLast);
+
+		filter = new RateLimitFilter(new StripedTokenBucketRateLimiter(4, 1_000), mock(JwtUtil.class), new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(filter, "enabled", true);
+		ReflectionTestUtils.setField(filter, "trustForwardedFor",
+				environment.getRequiredProperty("app.rate-limit.trust-forwarded-for", Boolean.class));
+		ReflectionTestUtils.setField(filter, "trustedProxies",
+				List.of(environment.getRequiredProperty("app.rate-limit.trusted-proxies", String[].class)));
+		ReflectionTestUtils.setField(filter, "authPerMinute", 2);
+		filter.afterPropertiesSet();
+	}
+
+	private int login(String proxy, String forwardedFor) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+		request.setServletPath("/auth/login");
+		request.setRemoteAddr(proxy);
+		request.addHeader("X-Forwarded-For", forwardedFor);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response.getStatus();
+	}
+
+	@Test
+	void clientsBehindCloudRunFrontEndGetSeparateBuckets() throws Exception {
+		assertEquals(200, login("169.254.1.1", "203.0.113.5"));
+		assertEquals(200, login("169.254.1.2", "203.0.113.5"));
+		assertEquals(429, login("169.254.1.1", "203.0.113.5"));
+
+		assertEquals(200, login("169.254.1.1", "203.0.113.6"));
+	}
+
+	@Test
+	void clientsBehindRenderRouterGetSeparateBuckets() throws Exception {
+		assertEquals(200, login("10.1.2.3", "198.51.100.7"));
+		assertEquals(200, login("10.1.2.3", "198.51.100.7"));
+		assertEquals(429, login("10.1.2.3", "198.51.100.7"));
+
+		assertEquals(200, login("10.1.2.3", "198.51.100.8"));
+	}
+
+	@Test
+	void spoofedLeftMostHopIsIgnored() throws Exception {
+		assertEquals(200, login("169.254.1.1", "1.1.1.1, 203.0.113.5"));
+		assertEquals(200, login("169.254.1.1", "2.2.2.2, 203.0.113.5"));
+		assertEquals(429, login("169.254.1.1", "3.3.3.3, 203.0.113.5"));
+	}
+
+	@Test
+	void forwardedForFromUntrustedAddressIsIgnored() throws Exception {
+		assertEquals(200, login("198.51.100.9", "203.0.113.10"));
+		assertEquals(200, login("198.51.100.9", "203.0.113.11"));
+		assertEquals(429, login("198.51.100.9", "203.0.113.12"));
+	}
+}
@@ -0,0 +1,239 @@
+package com.killiann.briefsaas.load;
+
+import com.killiann.briefsaas.util.DeltaCodec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stockage froid : latence de la liste des briefs en cours d'un propriétaire (page + total, comme
+ * BriefRepository#findSummariesByOwner), avant et après le passage des briefs archivés et anciens
+ * validés dans briefs_archive. Avant, la requête filtre ces briefs dans la table chaude ; après, la
+ * table chaude ne contient plus qu'eux. La liste des archives est mesurée sur la table froide.
+ *
+ * mvn -Pload-test verify -Dtest=BriefArchiveBenchmarkTests [-Dbench.briefs=100000 -Dbench.owners=50]
+ *     [-Dbench.url=jdbc:postgresql://localhost:5432/bench -Dbench.user=... -Dbench.password=...]
+ */
+@Tag("load")
+class BriefArchiveBenchmarkTests {
+
+	private static final int PAGE_SIZE = 20;
+	private static final int ITERATIONS = 500;
+	private static final int DESCRIPTION_LENGTH = 600;
+	private static final String[] WORDS = ("site vitrine refonte charte graphique pages services contact blog "
+			+ "référencement maquettes intégration responsive accessibilité contenu photos vidéo").split(" ");
+
+	// Même règle que BriefRepository#findColdIds
+	private static final String COLD = "(status = 'ARCHIVED' or (status = 'VALIDATED' and validated_at < ?))";
+	private static final String ACTIVE = "not " + COLD;
+
+	@Test
+	void compareListingBeforeAndAfterArchival() throws Exception {
+		int briefs = Integer.getInteger("bench.briefs", 100_000);
+		int owners = Integer.getInteger("bench.owners", 50);
+		String url = System.getProperty("bench.url", "jdbc:h2:mem:brief-archive;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+		LocalDateTime cutoff = LocalDateTime.now().minusDays(180);
+		try (Connection connection = DriverManager.getConnection(url,
+				System.getProperty("bench.user", "sa"), System.getProperty("bench.password", ""))) {
+			createSchema(connection);
+			seed(connection, briefs, owners, new Random(3));
+
+			List<Long> expected = listActive(connection, 7, cutoff, true);
+			long[] before = measure(() -> listActive(connection, 7, cutoff, true));
+
+			long start = System.nanoTime();
+			int moved = archive(connection, cutoff);
+			double archiveSeconds = (System.nanoTime() - start) / 1e9;
+
+			assertEquals(expected, listActive(connection, 7, cutoff, false));
+			long[] after = measure(() -> listActive(connection, 7, cutoff, false));
+			long[] archived = measure(() -> listArchived(connection, 7));
+
+			System.out.printf(Locale.ROOT, "%d briefs, %d propriétaires ; %d déplacés vers briefs_archive en %.1f s%n",
+					briefs, owners, moved, archiveSeconds);
+			System.out.printf(Locale.ROOT, "payload froid : %.0f octets en moyenne (description %d caractères brute)%n",
+					averagePayload(connection), DESCRIPTION_LENGTH);
+			System.out.printf(Locale.ROOT, "%-34s %10s %10s%n", "liste (page " + PAGE_SIZE + " + total)", "p50 us", "p99 us");
+			print("en cours, table unique", before);
+			print("en cours, table chaude", after);
+			print("archives, table froide", archived);
+
+			assertTrue(after[after.length / 2] < before[before.length / 2], "hot listing should be faster once cold rows are gone");
+		}
+	}
+
+	private static void createSchema(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("drop table if exists briefs_archive");
+			statement.execute("drop table if exists briefs");
+			statement.execute("create table briefs (id bigint primary key, title varchar(255), description varchar(5000), "
+					+ "status varchar(20), validated_at timestamp, created_at timestamp, user_id bigint)");
+			statement.execute("create index idx_briefs_owner on briefs (user_id)");
+			statement.execute("create table briefs_archive (id bigint primary key, title varchar(255), status varchar(20), "
+					+ "validated_at timestamp, created_at timestamp, user_id bigint not null, archived_at timestamp not null, "
+					+ "payload varbinary(65536) not null)");
+			statement.execute("create index idx_briefs_archive_owner on briefs_archive (user_id)");
+		}
+	}
+
+	// Comptes anciens (4 ans d'historique) : la plupart des briefs sont archivés ou validés depuis longtemps
+	private static void seed(Connection connection, int briefs, int owners, Random random) throws SQLException {
+		LocalDateTime now = LocalDateTime.now();
+		try (PreparedStatement insert = connection.prepareStatement("insert into briefs values (?, ?, ?, ?, ?, ?, ?)")) {
+			for (long id = 1; id <= briefs; id++) {
+				LocalDateTime created = now.minusDays(1_500L * (briefs - id) / briefs).minusMinutes(random.nextInt(1_440));
+				int kind = random.nextInt(10);
+				String status = kind == 0 ? "DRAFT" : kind < 4 ? "ARCHIVED" : "VALIDATED";
+				LocalDateTime validated = "VALIDATED".equals(status) ? created.plusDays(random.nextInt(30)) : null;
+				insert.setLong(1, id);
+				insert.setString(2, "Brief " + id);
+				insert.setString(3, text(random, DESCRIPTION_LENGTH));
+				insert.setString(4, status);
+				insert.setTimestamp(5, validated == null ? null : Timestamp.valueOf(validated));
+				insert.setTimestamp(6, Timestamp.valueOf(created));
+				insert.setLong(7, id % owners);
+				insert.addBatch();
+				if (id % 5_000 == 0) {
+					insert.executeBatch();
+				}
+			}
+			insert.executeBatch();
+		}
+	}
+
+	// Même déplacement que BriefArchiveService : copie compressée, puis suppression dans la table chaude
+	private static int archive(Connection connection, LocalDateTime cutoff) throws SQLException {
+		List<Long> ids = new ArrayList<>();
+		try (PreparedStatement select = connection.prepareStatement(
+				"select id, title, description, status, validated_at, created_at, user_id from briefs where " + COLD);
+			 PreparedStatement insert = connection.prepareStatement("insert into briefs_archive values (?, ?, ?, ?, ?, ?, ?, ?)")) {
+			select.setTimestamp(1, Timestamp.valueOf(cutoff));
+			Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+			try (ResultSet rs = select.executeQuery()) {
+				while (rs.next()) {
+					ids.add(rs.getLong(1));
+					insert.setLong(1, rs.getLong(1));
+					insert.setString(2, rs.getString(2));
+					insert.setString(3, rs.getString(4));
+					insert.setTimestamp(4, rs.getTimestamp(5));
+					insert.setTimestamp(5, rs.getTimestamp(6));
+					insert.setLong(6, rs.getLong(7));
+					insert.setTimestamp(7, now);
+					insert.setBytes(8, DeltaCodec.deflate(rs.getString(3).getBytes(StandardCharsets.UTF_8)));
+					insert.addBatch();
+				}
+			}
+			insert.executeBatch();
+		}
+		try (PreparedStatement delete = connection.prepareStatement("delete from briefs where id = ?")) {
+			for (Long id : ids) {
+				delete.setLong(1, id);
+				delete.addBatch();
+			}
+			delete.executeBatch();
+		}
+		return ids.size();
+	}
+
+	private static List<Long> listActive(Connection connection, long owner, LocalDateTime cutoff, boolean filter) throws SQLException {
+		String where = "user_id = ?" + (filter ? " and " + ACTIVE : "");
+		List<Long> ids = page(connection, "select id, title, status, created_at from briefs where " + where
+				+ " order by created_at desc limit " + PAGE_SIZE, owner, filter ? cutoff : null);
+		count(connection, "select count(*) from briefs where " + where, owner, filter ? cutoff : null);
+		return ids;
+	}
+
+	private static List<Long> listArchived(Connection connection, long owner) throws SQLException {
+		List<Long> ids = page(connection, "select id, title, status, created_at from briefs_archive where user_id = ?"
+				+ " order by created_at desc limit " + PAGE_SIZE, owner, null);
+		count(connection, "select count(*) from briefs_archive where user_id = ?", owner, null);
+		return ids;
+	}
+
+	private static List<Long> page(Connection connection, String sql, long owner, LocalDateTime cutoff) throws SQLException {
+		try (PreparedStatement select = connection.prepareStatement(sql)) {
+			bind(select, owner, cutoff);
+			List<Long> ids = new ArrayList<>();
+			try (ResultSet rs = select.executeQuery()) {
+				while (rs.next()) {
+					ids.add(rs.getLong(1));
+				}
+			}
+			return ids;
+		}
+	}
+
+	private static long count(Connection connection, String sql, long owner, LocalDateTime cutoff) throws SQLException {
+		try (PreparedStatement select = connection.prepareStatement(sql)) {
+			bind(select, owner, cutoff);
+			try (ResultSet rs = select.executeQuery()) {
+				rs.next();
+				return rs.getLong(1);
+			}
+		}
+	}
+
+	private static void bind(PreparedStatement statement, long owner, LocalDateTime cutoff) throws SQLException {
+		statement.setLong(1, owner);
+		if (cutoff != null) {
+			statement.setTimestamp(2, Timestamp.valueOf(cutoff));
+		}
+	}
+
+	private static double averagePayload(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement();
+			 ResultSet rs = statement.executeQuery("select avg(octet_length(payload)) from briefs_archive")) {
+			rs.next();
+			return rs.getDouble(1);
+		}
+	}
+
+	private static String text(Random random, int length) {
+		StringBuilder text = new StringBuilder(length);
+		while (text.length() < length) {
+			text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+		}
+		return text.substring(0, length);
+	}
+
+	// Durées triées (ns), après une passe de chauffe
+	private static long[] measure(Listing listing) throws SQLException {
+		for (int i = 0; i < ITERATIONS / 5; i++) {
+			listing.run();
+		}
+		long[] nanos = new long[ITERATIONS];
+		for (int i = 0; i < ITERATIONS; i++) {
+			long start = System.nanoTime();
+			listing.run();
+			nanos[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(nanos);
+		return nanos;
+	}
+
+	private static void print(String label, long[] nanos) {
+		System.out.printf(Locale.ROOT, "%-34s %10.1f %10.1f%n", label,
+				nanos[nanos.length / 2] / 1000.0, nanos[nanos.length * 99 / 100] / 1000.0);
+	}
+
+	@FunctionalInterface
+	private interface Listing {
+		List<Long> run() throws SQLException;
+	}
+}
@@ -0,0 +1,362 @@
+package com.killiann.briefsaas.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.killiann.briefsaas.entity.Brief;
+import com.killiann.briefsaas.entity.BriefStatus;
+import com.killiann.briefsaas.entity.Client;
+import com.killiann.briefsaas.entity.Role;
+import com.killiann.briefsaas.entity.User;
+import com.killiann.briefsaas.load.LatencyReport.Stats;
+import com.killiann.briefsaas.repository.BriefRepository;
+import com.killiann.briefsaas.repository.ClientRepository;
+import com.killiann.briefsaas.repository.UserRepository;
+import com.killiann.briefsaas.util.JwtUtil;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Charge réaliste sur le cycle de vie d'un brief, contre l'application complète (profil prod)
+ * avec une base H2 embarquée et des doublures SMTP / Stripe / Google.
+ *
+ * mvn -Pload-test verify [-Dload.users=50 -Dload.threads=8 -Dload.warmup=PT10S -Dload.duration=PT30S -Dload.tolerance=0.5]
+ *
+ * Rapport et baseline candidate dans target/load/ ; la baseline de référence est
+ * src/test/resources/load/baseline.properties.
+ */
+@Tag("load")
+@ActiveProfiles({"prod", "load"})
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BriefLifecycleLoadTests {
+
+	private static final String PASSWORD = "load-test-password";
+
+	// Poids du mélange : majoritairement des lectures, comme en production
+	private static final Map<String, Integer> MIX = Map.of(
+			"list", 30,
+			"public-view", 20,
+			"update", 12,
+			"create", 10,
+			"pdf", 10,
+			"submit", 6,
+			"public-validate", 6,
+			"login", 6
+	);
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private BriefRepository briefRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private RecordingMailSender mailSender;
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private final HttpClient http = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	@Test
+	void briefLifecycleMix() throws Exception {
+		int users = Integer.getInteger("load.users", 50);
+		int threads = Integer.getInteger("load.threads", Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+		Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+		Duration duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+		double tolerance = Double.parseDouble(System.getProperty("load.tolerance", "0.5"));
+
+		List<Account> accounts = seed(users);
+		LatencyReport report = new LatencyReport();
+
+		drive(accounts, threads, warmup, report);
+		report.snapshot(warmup.toMillis() / 1000.0);
+
+		drive(accounts, threads, duration, report);
+		Map<String, Stats> stats = report.snapshot(duration.toMillis() / 1000.0);
+
+		String table = LatencyReport.format(stats);
+		System.out.println(table);
+		Files.createDirectories(Path.of("target/load"));
+		Files.writeString(Path.of("target/load/report.txt"), table);
+		LatencyReport.writeBaseline(stats, Path.of("target/load/baseline.properties"));
+
+		assertEquals(MIX.keySet(), stats.keySet());
+		assertTrue(mailSender.sent() > 0, "no validation email reached the SMTP stand-in");
+
+		List<String> regressions = LatencyReport.regressions(stats,
+				LatencyReport.loadBaseline("/load/baseline.properties"), tolerance);
+		assertTrue(regressions.isEmpty(), () -> "Regressions against baseline:\n" + String.join("\n", regressions));
+	}
+
+	// === Données synthétiques : comptes abonnés, 2 clients et 6 briefs chacun (2 brouillons, 4 soumis) ===
+
+	private List<Account> seed(int users) {
+		String encodedPassword = passwordEncoder.encode(PASSWORD);
+		List<Account> accounts = new ArrayList<>();
+
+		for (int i = 0; i < users; i++) {
+			User user = userRepository.save(User.builder()
+					.email("load-" + i + "@example.com")
+					.password(encodedPassword)
+					.firstname("Load")
+					.lastname("User " + i)
+					.language("fr")
+					.enabled(true)
+					.subscriptionActive(true)
+					.role(Role.ROLE_USER)
+					.build());
+
+			Account account = new Account(user.getEmail(), jwtUtil.generateAccessToken(user.getEmail(), UUID.randomUUID().toString()));
+			for (int c = 0; c < 2; c++) {
+				Client client = clientRepository.save(Client.builder()
+						.name("Client " + i + "-" + c)
+						.email("client-" + i + "-" + c + "@example.com")
+						.owner(user)
+						.build());
+				account.clientIds.add(client.getId());
+
+				for (int b = 0; b < 3; b++) {
+					String code = String.format("%06d", ThreadLocalRandom.current().nextInt(1_000_000));
+					Brief brief = briefRepository.save(Brief.builder()
+							.title("Brief " + i + "-" + c + "-" + b)
+							.description("Synthetic brief for load testing. ".repeat(20))
+							.objectives(List.of("Objective A", "Objective B", "Objective C"))
+							.deliverables(List.of("Mockups", "Specification"))
+							.targetAudience("SMB owners")
+							.budget("5000")
+							.deadline(LocalDate.now().plusMonths(2))
+							.constraints("None")
+							.client(client)
+							.owner(user)
+							.publicUuid(UUID.randomUUID())
+							.validationCode(code)
+							.clientValidated(false)
+							.status(b == 0 ? BriefStatus.DRAFT : BriefStatus.SUBMITTED)
+							.build());
+					account.briefIds.add(brief.getId());
+					// Les brouillons restent modifiables ; les briefs soumis sont validés par le client
+					if (b == 0) {
+						account.editableIds.add(brief.getId());
+						account.drafts.add(brief.getId());
+					} else {
+						account.publicBriefs.add(new PublicBrief(brief.getPublicUuid(), code));
+					}
+				}
+			}
+			accounts.add(account);
+		}
+		return accounts;
+	}
+
+	// === Boucle de charge ===
+
+	private void drive(List<Account> accounts, int threads, Duration duration, LatencyReport report) throws Exception {
+		long deadline = System.nanoTime() + duration.toNanos();
+		ExecutorService workers = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(workers.submit(() -> {
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					while (System.nanoTime() < deadline) {
+						Account account = accounts.get(random.nextInt(accounts.size()));
+						String operation = pick(random);
+						long start = System.nanoTime();
+						boolean success;
+						try {
+							success = execute(operation, account, accounts, random);
+						} catch (Exception e) {
+							success = false;
+						}
+						report.record(operation, System.nanoTime() - start, success);
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			workers.shutdownNow();
+		}
+	}
+
+	private static String pick(ThreadLocalRandom random) {
+		int total = MIX.values().stream().mapToInt(Integer::intValue).sum();
+		int roll = random.nextInt(total);
+		for (Map.Entry<String, Integer> entry : MIX.entrySet()) {
+			roll -= entry.getValue();
+			if (roll < 0) {
+				return entry.getKey();
+			}
+		}
+		throw new IllegalStateException();
+	}
+
+	private boolean execute(String operation, Account account, List<Account> accounts, ThreadLocalRandom random) throws Exception {
+		return switch (operation) {
+			case "login" -> send(post("/auth/login", null,
+					"{\"email\":\"" + account.email + "\",\"password\":\"" + PASSWORD + "\"}"));
+			case "list" -> send(get("/briefs?status=ALL&fields=summary&page=" + random.nextInt(3) + "&size=4", account.token));
+			case "create" -> create(account, random);
+			case "update" -> send(put("/briefs/" + randomOf(account.editableIds, random), account.token,
+					briefJson("Updated brief " + random.nextInt(1000), randomOf(account.clientIds, random))));
+			case "submit" -> {
+				Long draft = account.drafts.poll();
+				// Plus de brouillon disponible (rare : les créations en produisent davantage) : on en crée un
+				if (draft == null && create(account, random)) {
+					draft = account.drafts.poll();
+				}
+				yield draft != null && send(post("/briefs/" + draft + "/submit", account.token, ""));
+			}
+			case "pdf" -> send(get("/briefs/" + randomOf(account.briefIds, random) + "/pdf", account.token));
+			case "public-view" -> {
+				PublicBrief brief = randomOf(randomOf(accounts, random).publicBriefs, random);
+				yield send(get("/briefs/public/" + brief.uuid(), null));
+			}
+			case "public-validate" -> {
+				PublicBrief brief = randomOf(randomOf(accounts, random).publicBriefs, random);
+				yield send(put("/briefs/public/" + brief.uuid() + "/validate", null,
+						"{\"code\":\"" + brief.code() + "\"}"));
+			}
+			default -> throw new IllegalArgumentException(operation);
+		};
+	}
+
+	private boolean create(Account account, ThreadLocalRandom random) throws Exception {
+		HttpResponse<String> response = http.send(
+				post("/briefs", account.token, briefJson("New brief " + random.nextInt(1000), randomOf(account.clientIds, random))),
+				HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() != 200) {
+			return false;
+		}
+		account.drafts.add(mapper.readTree(response.body()).get("id").asLong());
+		return true;
+	}
+
+	private boolean send(HttpRequest request) throws Exception {
+		int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+		return status >= 200 && status < 300;
+	}
+
+	private static String briefJson(String title, Long clientId) {
+		return """
+				{"title":"%s","description":"Synthetic brief","objectives":["Reach","Convert"],\
+				"deliverables":["Landing page"],"targetAudience":"Freelancers","budget":"3000",\
+				"deadline":"%s","constraints":"None","clientId":%d}""".formatted(title, LocalDate.now().plusMonths(1), clientId);
+	}
+
+	private HttpRequest get(String path, String token) {
+		return request(path, token).GET().build();
+	}
+
+	private HttpRequest post(String path, String token, String json) {
+		return request(path, token).POST(HttpRequest.BodyPublishers.ofString(json)).build();
+	}
+
+	private HttpRequest put(String path, String token, String json) {
+		return request(path, token).PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+	}
+
+	private HttpRequest.Builder request(String path, String token) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.timeout(Duration.ofSeconds(30))
+				.header("Content-Type", "application/json");
+		if (token != null) {
+			builder.header("Authorization", "Bearer " + token);
+		}
+		return builder;
+	}
+
+	private static <T> T randomOf(List<T> values, ThreadLocalRandom random) {
+		return values.get(random.nextInt(values.size()));
+	}
+
+	private static final class Account {
+		final String email;
+		final String token;
+		final List<Long> clientIds = new ArrayList<>();
+		final List<Long> briefIds = new ArrayList<>();
+		final List<Long> editableIds = new ArrayList<>();
+		final List<PublicBrief> publicBriefs = new ArrayList<>();
+		final Queue<Long> drafts = new ConcurrentLinkedQueue<>();
+
+		Account(String email, String token) {
+			this.email = email;
+			this.token = token;
+		}
+	}
+
+	private record PublicBrief(UUID uuid, String code) {
+	}
+
+	// === Doublures des services externes ===
+
+	@TestConfiguration
+	static class StandIns {
+
+		// Remplace le serveur SMTP : les messages sont construits normalement puis comptés
+		@Bean
+		RecordingMailSender mailSender() {
+			return new RecordingMailSender();
+		}
+	}
+
+	static class RecordingMailSender extends JavaMailSenderImpl {
+
+		private final AtomicLong sent = new AtomicLong();
+
+		@Override
+		protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+			sent.addAndGet(mimeMessages.length);
+		}
+
+		long sent() {
+			return sent.get();
+		}
+	}
+}
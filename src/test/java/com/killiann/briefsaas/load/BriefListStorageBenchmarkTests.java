@@ -0,0 +1,238 @@
+package com.killiann.briefsaas.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Objectifs / livrables : anciennes tables de collection contre colonnes tableau sur briefs.
+ * Rejoue en JDBC les requêtes émises par Hibernate dans chaque cas :
+ * <ul>
+ *     <li>lecture d'une page de briefs : 1 requête, plus 2 par brief pour les collections (sacs paresseux) ;</li>
+ *     <li>mise à jour : UPDATE du brief, puis DELETE et réinsertion de chaque élément des deux sacs.</li>
+ * </ul>
+ *
+ * mvn -Pload-test verify -Dtest=BriefListStorageBenchmarkTests
+ *     [-Dbench.url=jdbc:postgresql://localhost:5432/bench -Dbench.user=... -Dbench.password=...]
+ *
+ * Sur H2 en mémoire les allers-retours ne coûtent presque rien : le nombre de requêtes
+ * par opération est le chiffre à retenir, les temps sur PostgreSQL le confirment.
+ */
+@Tag("load")
+class BriefListStorageBenchmarkTests {
+
+	private static final int BRIEFS = 2_000;
+	private static final int PAGE_SIZE = 50;
+	private static final List<String> OBJECTIVES = List.of("Augmenter les conversions", "Moderniser l'image", "Améliorer le SEO");
+	private static final List<String> DELIVERABLES = List.of("Maquettes", "Intégration");
+
+	@Test
+	void compareLegacyTablesWithInlineArrays() throws Exception {
+		String url = System.getProperty("bench.url", "jdbc:h2:mem:brief-lists;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+		try (Connection connection = DriverManager.getConnection(url,
+				System.getProperty("bench.user", "sa"), System.getProperty("bench.password", ""))) {
+			createSchema(connection);
+			seed(connection);
+
+			Result legacyRead = measure(() -> readPageLegacy(connection));
+			Result inlineRead = measure(() -> readPageInline(connection));
+			Result legacyUpdate = measure(() -> updateLegacy(connection));
+			Result inlineUpdate = measure(() -> updateInline(connection));
+
+			System.out.printf(Locale.ROOT, "%-28s %10s %12s%n", "operation", "queries", "us/op");
+			print("read page x" + PAGE_SIZE + " (legacy)", legacyRead);
+			print("read page x" + PAGE_SIZE + " (inline)", inlineRead);
+			print("update brief (legacy)", legacyUpdate);
+			print("update brief (inline)", inlineUpdate);
+
+			assertEquals(1, inlineRead.queries);
+			assertEquals(1 + 2 * PAGE_SIZE, legacyRead.queries);
+			assertEquals(1, inlineUpdate.queries);
+			assertEquals(3 + OBJECTIVES.size() + DELIVERABLES.size(), legacyUpdate.queries);
+		}
+	}
+
+	private static void createSchema(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("drop table if exists legacy_brief_objectives");
+			statement.execute("drop table if exists legacy_brief_deliverables");
+			statement.execute("drop table if exists legacy_briefs");
+			statement.execute("drop table if exists inline_briefs");
+			statement.execute("create table legacy_briefs (id bigint primary key, title varchar(255), user_id bigint)");
+			statement.execute("create table legacy_brief_objectives (brief_id bigint not null references legacy_briefs(id), objectives varchar(255))");
+			statement.execute("create table legacy_brief_deliverables (brief_id bigint not null references legacy_briefs(id), deliverables varchar(255))");
+			statement.execute("create index legacy_objectives_brief on legacy_brief_objectives (brief_id)");
+			statement.execute("create index legacy_deliverables_brief on legacy_brief_deliverables (brief_id)");
+			statement.execute("create table inline_briefs (id bigint primary key, title varchar(255), user_id bigint, "
+					+ "objectives varchar(1000) array, deliverables varchar(1000) array)");
+		}
+	}
+
+	private static void seed(Connection connection) throws SQLException {
+		try (PreparedStatement legacy = connection.prepareStatement("insert into legacy_briefs values (?, ?, ?)");
+			 PreparedStatement objectives = connection.prepareStatement("insert into legacy_brief_objectives values (?, ?)");
+			 PreparedStatement deliverables = connection.prepareStatement("insert into legacy_brief_deliverables values (?, ?)");
+			 PreparedStatement inline = connection.prepareStatement("insert into inline_briefs values (?, ?, ?, ?, ?)")) {
+			for (long id = 1; id <= BRIEFS; id++) {
+				long owner = id % 20;
+				legacy.setLong(1, id);
+				legacy.setString(2, "Brief " + id);
+				legacy.setLong(3, owner);
+				legacy.addBatch();
+				for (String objective : OBJECTIVES) {
+					objectives.setLong(1, id);
+					objectives.setString(2, objective);
+					objectives.addBatch();
+				}
+				for (String deliverable : DELIVERABLES) {
+					deliverables.setLong(1, id);
+					deliverables.setString(2, deliverable);
+					deliverables.addBatch();
+				}
+				inline.setLong(1, id);
+				inline.setString(2, "Brief " + id);
+				inline.setLong(3, owner);
+				inline.setArray(4, connection.createArrayOf("varchar", OBJECTIVES.toArray()));
+				inline.setArray(5, connection.createArrayOf("varchar", DELIVERABLES.toArray()));
+				inline.addBatch();
+			}
+			legacy.executeBatch();
+			objectives.executeBatch();
+			deliverables.executeBatch();
+			inline.executeBatch();
+		}
+	}
+
+	private static int readPageLegacy(Connection connection) throws SQLException {
+		List<Long> ids = new ArrayList<>();
+		try (PreparedStatement page = connection.prepareStatement(
+				"select id, title from legacy_briefs where user_id = ? order by id limit ?")) {
+			page.setLong(1, 7);
+			page.setInt(2, PAGE_SIZE);
+			try (ResultSet rs = page.executeQuery()) {
+				while (rs.next()) {
+					ids.add(rs.getLong(1));
+				}
+			}
+		}
+		int queries = 1;
+		for (Long id : ids) {
+			assertEquals(OBJECTIVES.size(), readCollection(connection, "legacy_brief_objectives", "objectives", id).size());
+			assertEquals(DELIVERABLES.size(), readCollection(connection, "legacy_brief_deliverables", "deliverables", id).size());
+			queries += 2;
+		}
+		return queries;
+	}
+
+	private static List<String> readCollection(Connection connection, String table, String column, long briefId) throws SQLException {
+		try (PreparedStatement select = connection.prepareStatement("select " + column + " from " + table + " where brief_id = ?")) {
+			select.setLong(1, briefId);
+			List<String> values = new ArrayList<>();
+			try (ResultSet rs = select.executeQuery()) {
+				while (rs.next()) {
+					values.add(rs.getString(1));
+				}
+			}
+			return values;
+		}
+	}
+
+	private static int readPageInline(Connection connection) throws SQLException {
+		try (PreparedStatement page = connection.prepareStatement(
+				"select id, title, objectives, deliverables from inline_briefs where user_id = ? order by id limit ?")) {
+			page.setLong(1, 7);
+			page.setInt(2, PAGE_SIZE);
+			try (ResultSet rs = page.executeQuery()) {
+				int rows = 0;
+				while (rs.next()) {
+					assertEquals(OBJECTIVES.size(), ((Object[]) rs.getArray(3).getArray()).length);
+					assertEquals(DELIVERABLES.size(), ((Object[]) rs.getArray(4).getArray()).length);
+					rows++;
+				}
+				assertEquals(PAGE_SIZE, rows);
+			}
+		}
+		return 1;
+	}
+
+	private static int updateLegacy(Connection connection) throws SQLException {
+		long id = 42;
+		int queries = 0;
+		try (PreparedStatement update = connection.prepareStatement("update legacy_briefs set title = ? where id = ?")) {
+			update.setString(1, "Brief " + id);
+			update.setLong(2, id);
+			update.executeUpdate();
+			queries++;
+		}
+		queries += recreate(connection, "legacy_brief_objectives", id, OBJECTIVES);
+		queries += recreate(connection, "legacy_brief_deliverables", id, DELIVERABLES);
+		return queries;
+	}
+
+	// Sac sans colonne d'ordre : Hibernate supprime toutes les lignes puis réinsère chaque élément
+	private static int recreate(Connection connection, String table, long briefId, List<String> values) throws SQLException {
+		try (PreparedStatement delete = connection.prepareStatement("delete from " + table + " where brief_id = ?");
+			 PreparedStatement insert = connection.prepareStatement("insert into " + table + " values (?, ?)")) {
+			delete.setLong(1, briefId);
+			delete.executeUpdate();
+			for (String value : values) {
+				insert.setLong(1, briefId);
+				insert.setString(2, value);
+				insert.executeUpdate();
+			}
+		}
+		return 1 + values.size();
+	}
+
+	private static int updateInline(Connection connection) throws SQLException {
+		long id = 42;
+		try (PreparedStatement update = connection.prepareStatement(
+				"update inline_briefs set title = ?, objectives = ?, deliverables = ? where id = ?")) {
+			Array objectives = connection.createArrayOf("varchar", OBJECTIVES.toArray());
+			Array deliverables = connection.createArrayOf("varchar", DELIVERABLES.toArray());
+			update.setString(1, "Brief " + id);
+			update.setArray(2, objectives);
+			update.setArray(3, deliverables);
+			update.setLong(4, id);
+			update.executeUpdate();
+		}
+		return 1;
+	}
+
+	private static Result measure(Operation operation) throws SQLException {
+		int queries = 0;
+		for (int i = 0; i < 200; i++) {
+			queries = operation.run();
+		}
+		int iterations = 1_000;
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			operation.run();
+		}
+		return new Result(queries, (System.nanoTime() - start) / 1_000.0 / iterations);
+	}
+
+	private static void print(String label, Result result) {
+		System.out.printf(Locale.ROOT, "%-28s %10d %12.1f%n", label, result.queries, result.micros);
+	}
+
+	private record Result(int queries, double micros) {
+	}
+
+	@FunctionalInterface
+	private interface Operation {
+		int run() throws SQLException;
+	}
+}
@@ -0,0 +1,139 @@
+package com.killiann.briefsaas.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.killiann.briefsaas.dto.BriefRevisionContent;
+import com.killiann.briefsaas.entity.BriefRevision;
+import com.killiann.briefsaas.entity.BriefStatus;
+import com.killiann.briefsaas.service.BriefRevisionService;
+import com.killiann.briefsaas.util.DeltaCodec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Historique des briefs : volume stocké et temps de reconstruction selon l'intervalle entre instantanés,
+ * comparés à une copie complète par version (brute ou compressée).
+ * Rejoue {@value #EDITS} éditions locales (saisie, autosave) d'un brief à description de 5000 caractères,
+ * puis reconstruit chaque révision comme BriefRevisionService (instantané + deltas, en mémoire).
+ *
+ * mvn -Pload-test verify -Dtest=BriefRevisionBenchmarkTests
+ */
+@Tag("load")
+class BriefRevisionBenchmarkTests {
+
+	private static final int EDITS = 500;
+	private static final int[] SNAPSHOT_INTERVALS = {1, 10, 50};
+	private static final String[] WORDS = ("site vitrine refonte charte graphique pages services contact blog "
+			+ "référencement maquettes intégration responsive accessibilité contenu photos vidéo").split(" ");
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+	@Test
+	void compareStorageAndReconstruction() throws Exception {
+		List<byte[]> versions = simulateEdits(new Random(7));
+		long raw = versions.stream().mapToLong(v -> v.length).sum();
+		long deflated = versions.stream().mapToLong(v -> DeltaCodec.deflate(v).length).sum();
+
+		System.out.printf(Locale.ROOT, "%d versions, %.1f Ko par version%n", versions.size(), raw / 1024.0 / versions.size());
+		System.out.printf(Locale.ROOT, "%-22s %12s %10s %10s %10s%n", "stockage", "octets", "% brut", "p50 us", "p99 us");
+		System.out.printf(Locale.ROOT, "%-22s %12d %9.1f%% %10s %10s%n", "copies brutes", raw, 100.0, "-", "-");
+		System.out.printf(Locale.ROOT, "%-22s %12d %9.1f%% %10s %10s%n", "copies deflate", deflated, 100.0 * deflated / raw, "-", "-");
+
+		long tenStored = 0;
+		for (int interval : SNAPSHOT_INTERVALS) {
+			List<BriefRevision> revisions = store(versions, interval);
+			long stored = revisions.stream().mapToLong(r -> r.getPayload().length).sum();
+			long[] nanos = reconstructAll(revisions, versions);
+			System.out.printf(Locale.ROOT, "%-22s %12d %9.1f%% %10.1f %10.1f%n", "deltas, snapshot/" + interval,
+					stored, 100.0 * stored / raw, nanos[nanos.length / 2] / 1000.0, nanos[nanos.length * 99 / 100] / 1000.0);
+			if (interval == 10) {
+				tenStored = stored;
+			}
+		}
+
+		assertTrue(tenStored < deflated / 3, "deltas should be well under compressed full copies");
+	}
+
+	private List<byte[]> simulateEdits(Random random) throws Exception {
+		StringBuilder description = new StringBuilder();
+		while (description.length() < 4_800) {
+			description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+		}
+		BriefRevisionContent content = BriefRevisionContent.builder()
+				.title("Refonte du site")
+				.objectives(List.of("Augmenter les conversions", "Moderniser l'image"))
+				.targetAudience("PME locales")
+				.budget("8000")
+				.deadline(LocalDate.of(2026, 12, 1))
+				.deliverables(List.of("Maquettes", "Intégration"))
+				.clientId(42L)
+				.status(BriefStatus.DRAFT)
+				.clientValidated(false)
+				.build();
+
+		List<byte[]> versions = new ArrayList<>();
+		for (int i = 0; i < EDITS; i++) {
+			int at = random.nextInt(description.length());
+			switch (random.nextInt(3)) {
+				case 0 -> description.insert(at, WORDS[random.nextInt(WORDS.length)] + " ");
+				case 1 -> description.delete(at, Math.min(description.length(), at + 1 + random.nextInt(30)));
+				default -> description.replace(at, Math.min(description.length(), at + 8), WORDS[random.nextInt(WORDS.length)]);
+			}
+			if (description.length() > 5_000) {
+				description.setLength(5_000);
+			}
+			content.setDescription(description.toString());
+			if (i % 50 == 0) {
+				content.setTitle("Refonte du site v" + i);
+			}
+			versions.add(objectMapper.writeValueAsBytes(content));
+		}
+		return versions;
+	}
+
+	// Même règle que BriefRevisionService : instantané toutes les interval révisions, delta sinon
+	private static List<BriefRevision> store(List<byte[]> versions, int interval) {
+		List<BriefRevision> revisions = new ArrayList<>();
+		int snapshotRevision = 0;
+		for (int i = 0; i < versions.size(); i++) {
+			int revision = i + 1;
+			boolean snapshot = snapshotRevision == 0 || revision - snapshotRevision >= interval;
+			byte[] raw = snapshot ? versions.get(i) : DeltaCodec.encode(versions.get(i - 1), versions.get(i));
+			if (snapshot) {
+				snapshotRevision = revision;
+			}
+			revisions.add(BriefRevision.builder().briefId(1L).revision(revision).snapshot(snapshot)
+					.payload(DeltaCodec.deflate(raw)).build());
+		}
+		return revisions;
+	}
+
+	// Temps de reconstruction de chaque révision (ns, triés), après une passe de chauffe
+	private static long[] reconstructAll(List<BriefRevision> revisions, List<byte[]> versions) {
+		long[] nanos = new long[revisions.size()];
+		for (int pass = 0; pass < 3; pass++) {
+			int snapshotIndex = 0;
+			for (int i = 0; i < revisions.size(); i++) {
+				if (revisions.get(i).isSnapshot()) {
+					snapshotIndex = i;
+				}
+				long start = System.nanoTime();
+				byte[] content = BriefRevisionService.replay(revisions.subList(snapshotIndex, i + 1));
+				nanos[i] = System.nanoTime() - start;
+				assertArrayEquals(versions.get(i), content);
+			}
+		}
+		Arrays.sort(nanos);
+		return nanos;
+	}
+}
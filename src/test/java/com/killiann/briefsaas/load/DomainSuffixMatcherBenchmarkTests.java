@@ -0,0 +1,60 @@
+package com.killiann.briefsaas.load;
+
+import com.killiann.briefsaas.util.DomainSuffixMatcher;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * mvn -Pload-test verify -Dtest=DomainSuffixMatcherBenchmarkTests
+ */
+@Tag("load")
+class DomainSuffixMatcherBenchmarkTests {
+
+	/**
+	 * Mesure indicative : chargement texte vs binaire, puis coût d'une vérification.
+	 */
+	@Test
+	void benchmarkLoadAndLookup() throws Exception {
+		byte[] text;
+		try (InputStream is = getClass().getClassLoader().getResourceAsStream("disposable_domains.txt")) {
+			text = is.readAllBytes();
+		}
+		ByteArrayOutputStream bin = new ByteArrayOutputStream();
+		DomainSuffixMatcher.load(new ByteArrayInputStream(text)).writeTo(bin);
+		byte[] binary = bin.toByteArray();
+
+		long textNanos = Long.MAX_VALUE;
+		long binaryNanos = Long.MAX_VALUE;
+		for (int i = 0; i < 20; i++) {
+			long t0 = System.nanoTime();
+			DomainSuffixMatcher.load(new ByteArrayInputStream(text));
+			long t1 = System.nanoTime();
+			DomainSuffixMatcher.load(new ByteArrayInputStream(binary));
+			long t2 = System.nanoTime();
+			textNanos = Math.min(textNanos, t1 - t0);
+			binaryNanos = Math.min(binaryNanos, t2 - t1);
+		}
+
+		DomainSuffixMatcher matcher = DomainSuffixMatcher.load(new ByteArrayInputStream(binary));
+		String[] emails = {"a@gmail.com", "b@x.mailinator.com", "c@company.example.org", "d@0815.ru"};
+		int iterations = 2_000_000;
+		int hits = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			if (matcher.matchesEmail(emails[i & 3])) {
+				hits++;
+			}
+		}
+		double nsPerLookup = (System.nanoTime() - start) / (double) iterations;
+
+		System.out.printf("disposable domains: %d entries, text load %.2f ms, binary load %.2f ms (%d bytes), lookup %.0f ns%n",
+				matcher.size(), textNanos / 1e6, binaryNanos / 1e6, binary.length, nsPerLookup);
+		assertEquals(iterations / 2, hits);
+	}
+}
@@ -0,0 +1,92 @@
+package com.killiann.briefsaas.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.killiann.briefsaas.config.JacksonConfig;
+import com.killiann.briefsaas.dto.BriefResponse;
+import com.killiann.briefsaas.dto.ClientDto;
+import com.killiann.briefsaas.entity.BriefStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * mvn -Pload-test verify -Dtest=JacksonSerializationBenchmarkTests
+ */
+@Tag("load")
+class JacksonSerializationBenchmarkTests {
+
+	private final ObjectMapper plain = Jackson2ObjectMapperBuilder.json().build();
+	private final ObjectMapper blackbird = Jackson2ObjectMapperBuilder.json()
+			.modulesToInstall(new JacksonConfig().blackbirdModule())
+			.build();
+
+	// Benchmark indicatif : page de 200 briefs complets, sérialisation et taille gzip
+	@Test
+	void benchmarkLargeBriefPage() throws Exception {
+		Page<BriefResponse> page = page(200);
+
+		long plainNanos = bestOf(plain, page);
+		long blackbirdNanos = bestOf(blackbird, page);
+
+		byte[] json = blackbird.writeValueAsBytes(page);
+		ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+			gzip.write(json);
+		}
+
+		System.out.printf("Page<BriefResponse> x200: default %.2f ms, blackbird %.2f ms, %d KB -> %d KB gzip%n",
+				plainNanos / 1e6, blackbirdNanos / 1e6, json.length / 1024, gzipped.size() / 1024);
+		assertTrue(gzipped.size() < json.length / 3);
+	}
+
+	private static long bestOf(ObjectMapper mapper, Page<BriefResponse> page) throws Exception {
+		for (int i = 0; i < 300; i++) {
+			mapper.writeValueAsBytes(page);
+		}
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < 50; i++) {
+			long start = System.nanoTime();
+			mapper.writeValueAsBytes(page);
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+
+	private static Page<BriefResponse> page(int size) {
+		List<BriefResponse> briefs = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			briefs.add(BriefResponse.builder()
+					.id((long) i)
+					.publicUuid(UUID.randomUUID())
+					.title("Refonte du site vitrine " + i)
+					.description("Description détaillée du projet, contexte, enjeux et public visé. ".repeat(40))
+					.objectives(List.of("Augmenter les conversions", "Moderniser l'image", "Améliorer le SEO"))
+					.targetAudience("PME et indépendants")
+					.budget("8000")
+					.deadline(LocalDate.of(2026, 3, 1))
+					.deliverables(List.of("Maquettes", "Intégration", "Recette"))
+					.constraints("Charte graphique existante")
+					.client(ClientDto.builder().id((long) i % 7).name("Client " + i % 7).email("client@example.com").build())
+					.clientValidated(i % 2 == 0)
+					.validatedAt(LocalDateTime.of(2026, 1, 15, 10, 30))
+					.status(BriefStatus.SUBMITTED)
+					.createdAt(LocalDateTime.of(2025, 12, 1, 9, 0))
+					.updatedAt(LocalDateTime.of(2026, 1, 2, 14, 0))
+					.build());
+		}
+		return new PageImpl<>(briefs, PageRequest.of(0, size), 1000);
+	}
+}
@@ -0,0 +1,123 @@
+package com.killiann.briefsaas.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latences par endpoint (HdrHistogram, en microsecondes), erreurs et débit,
+ * comparés à une baseline stockée sous forme de properties.
+ */
+class LatencyReport {
+
+	private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+	private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+	void record(String endpoint, long nanos, boolean success) {
+		long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_LATENCY_MICROS);
+		recorders.computeIfAbsent(endpoint, k -> new Recorder(MAX_LATENCY_MICROS, 3)).recordValue(micros);
+		if (!success) {
+			errors.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+		}
+	}
+
+	/** Fige les mesures accumulées depuis le dernier appel (la phase de chauffe est ainsi écartée). */
+	Map<String, Stats> snapshot(double seconds) {
+		Map<String, Stats> stats = new TreeMap<>();
+		recorders.forEach((endpoint, recorder) -> {
+			Histogram histogram = recorder.getIntervalHistogram();
+			LongAdder errorCount = errors.remove(endpoint);
+			long count = histogram.getTotalCount();
+			long failed = errorCount == null ? 0 : errorCount.sum();
+			stats.put(endpoint, new Stats(
+					count,
+					count / seconds,
+					histogram.getValueAtPercentile(50) / 1000.0,
+					histogram.getValueAtPercentile(99) / 1000.0,
+					count == 0 ? 0 : (double) failed / count));
+		});
+		return stats;
+	}
+
+	static String format(Map<String, Stats> stats) {
+		StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "%-16s %8s %9s %9s %9s %8s%n",
+				"endpoint", "requests", "req/s", "p50 ms", "p99 ms", "errors"));
+		stats.forEach((endpoint, s) -> sb.append(String.format(Locale.ROOT, "%-16s %8d %9.1f %9.2f %9.2f %7.2f%%%n",
+				endpoint, s.count(), s.throughput(), s.p50Millis(), s.p99Millis(), s.errorRate() * 100)));
+		return sb.toString();
+	}
+
+	/**
+	 * Écarts par rapport à la baseline : p50 / p99 au-delà de la tolérance, débit en deçà,
+	 * taux d'erreur au-delà de la valeur absolue tolérée.
+	 */
+	static List<String> regressions(Map<String, Stats> stats, Properties baseline, double tolerance) {
+		List<String> regressions = new ArrayList<>();
+		double maxErrorRate = Double.parseDouble(baseline.getProperty("max-error-rate", "0.01"));
+		stats.forEach((endpoint, s) -> {
+			if (s.errorRate() > maxErrorRate) {
+				regressions.add(String.format(Locale.ROOT, "%s error rate %.2f%% > %.2f%%", endpoint, s.errorRate() * 100, maxErrorRate * 100));
+			}
+			check(regressions, baseline, endpoint, "p50", s.p50Millis(), 1 + tolerance, true);
+			check(regressions, baseline, endpoint, "p99", s.p99Millis(), 1 + tolerance, true);
+			check(regressions, baseline, endpoint, "throughput", s.throughput(), 1 - tolerance, false);
+		});
+		return regressions;
+	}
+
+	private static void check(List<String> regressions, Properties baseline, String endpoint, String metric,
+							  double value, double factor, boolean upperBound) {
+		String reference = baseline.getProperty(endpoint + "." + metric);
+		if (reference == null) {
+			return;
+		}
+		double limit = Double.parseDouble(reference) * factor;
+		if (upperBound ? value > limit : value < limit) {
+			regressions.add(String.format(Locale.ROOT, "%s %s %.2f %s limit %.2f (baseline %s)",
+					endpoint, metric, value, upperBound ? ">" : "<", limit, reference));
+		}
+	}
+
+	static Properties loadBaseline(String resource) throws IOException {
+		Properties baseline = new Properties();
+		try (InputStream in = LatencyReport.class.getResourceAsStream(resource)) {
+			if (in != null) {
+				baseline.load(in);
+			}
+		}
+		return baseline;
+	}
+
+	static void writeBaseline(Map<String, Stats> stats, Path target) throws IOException {
+		Files.createDirectories(target.getParent());
+		try (Writer writer = Files.newBufferedWriter(target)) {
+			writer.write("# Generated by BriefLifecycleLoadTests, copy to src/test/resources/load/baseline.properties\n");
+			writer.write("max-error-rate=0.01\n");
+			for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+				Stats s = entry.getValue();
+				writer.write(String.format(Locale.ROOT, "%s.p50=%.2f%n", entry.getKey(), s.p50Millis()));
+				writer.write(String.format(Locale.ROOT, "%s.p99=%.2f%n", entry.getKey(), s.p99Millis()));
+				writer.write(String.format(Locale.ROOT, "%s.throughput=%.1f%n", entry.getKey(), s.throughput()));
+			}
+		}
+	}
+
+	record Stats(long count, double throughput, double p50Millis, double p99Millis, double errorRate) {
+	}
+}
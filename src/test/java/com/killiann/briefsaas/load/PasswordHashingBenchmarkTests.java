@@ -0,0 +1,65 @@
+package com.killiann.briefsaas.load;
+
+import com.killiann.briefsaas.service.PasswordHashingService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * mvn -Pload-test verify -Dtest=PasswordHashingBenchmarkTests
+ */
+@Tag("load")
+class PasswordHashingBenchmarkTests {
+
+	/**
+	 * Débit de login sous contention : 64 appelants concurrents sur un pool borné.
+	 * Les appels au-delà de la file sont rejetés (503) au lieu d'occuper les threads de requête.
+	 */
+	@Test
+	void loginThroughputUnderContention() throws Exception {
+		int callers = 64;
+		int loginsPerCaller = 10;
+		PasswordHashingService service = new PasswordHashingService(new BCryptPasswordEncoder(6), 0, 16, 10_000);
+		String hash = service.hash("secret");
+
+		ExecutorService requestThreads = Executors.newFixedThreadPool(callers);
+		AtomicInteger accepted = new AtomicInteger();
+		AtomicInteger shed = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+
+		long start = System.nanoTime();
+		for (int i = 0; i < callers; i++) {
+			futures.add(requestThreads.submit(() -> {
+				for (int j = 0; j < loginsPerCaller; j++) {
+					try {
+						assertTrue(service.matches("secret", hash));
+						accepted.incrementAndGet();
+					} catch (ResponseStatusException e) {
+						shed.incrementAndGet();
+					}
+				}
+			}));
+		}
+		for (Future<?> f : futures) {
+			f.get();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		requestThreads.shutdown();
+		service.shutdown();
+
+		System.out.printf("BCrypt(6) logins: %d accepted, %d shed, %.0f logins/s with %d callers on %d cores%n",
+				accepted.get(), shed.get(), accepted.get() / seconds, callers,
+				Runtime.getRuntime().availableProcessors());
+		assertEquals(callers * loginsPerCaller, accepted.get() + shed.get());
+		assertEquals(shed.get(), service.getRejectedCount());
+		assertTrue(accepted.get() > 0);
+	}
+}
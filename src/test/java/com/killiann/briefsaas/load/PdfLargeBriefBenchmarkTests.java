@@ -0,0 +1,161 @@
+package com.killiann.briefsaas.load;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.killiann.briefsaas.entity.Brief;
+import com.killiann.briefsaas.entity.Client;
+import com.killiann.briefsaas.service.PdfService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Export PDF des très gros briefs : temps de rendu et pic de tas vivant selon le nombre de pages,
+ * pages gardées jusqu'à la fermeture du document contre rendu en flux (app.pdf.streaming-threshold).
+ * Le tas vivant est échantillonné après un GC complet toutes les 20 ms, dans une passe séparée de
+ * celle qui mesure le temps. En flux, ce qui reste proportionnel au document est le PDF produit
+ * (rendu en byte[]) et le suivi des pages par iText, quelques Ko par page.
+ *
+ * mvn -Pload-test verify -Dtest=PdfLargeBriefBenchmarkTests
+ */
+@Tag("load")
+class PdfLargeBriefBenchmarkTests {
+
+	private static final int[] DELIVERABLES = {500, 1_000, 2_000, 4_000};
+	private static final String[] WORDS = ("site vitrine refonte charte graphique pages services contact blog "
+			+ "référencement maquettes intégration responsive accessibilité contenu photos vidéo").split(" ");
+
+	private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+	private int lastSize;
+
+	@Test
+	void compareBufferedAndStreamingLayout() throws Exception {
+		PdfService buffered = service(Integer.MAX_VALUE);
+		PdfService streaming = service(0);
+		// Chauffe
+		Brief warmup = brief(new Random(1), 200);
+		buffered.generateBriefPdf(warmup, Locale.FRENCH);
+		streaming.generateBriefPdf(warmup, Locale.FRENCH);
+
+		System.out.printf(Locale.ROOT, "%-10s %6s %-10s %10s %12s %12s%n", "livrables", "pages", "mode", "ms", "tas max Mo", "PDF Ko");
+		long[] bufferedResult = null;
+		long[] streamingResult = null;
+		for (int deliverables : DELIVERABLES) {
+			Brief brief = brief(new Random(2), deliverables);
+			bufferedResult = run(buffered, brief, "bufferisé");
+			streamingResult = run(streaming, brief, "flux");
+			assertEquals(bufferedResult[0], streamingResult[0], "both modes should lay out the same number of pages");
+		}
+
+		assertTrue(streamingResult[0] > 100);
+		assertTrue(3 * streamingResult[1] < bufferedResult[1], "streaming should keep a fraction of the buffered heap");
+	}
+
+	// Pages et pic de tas au-dessus du tas vivant d'avant le rendu
+	private long[] run(PdfService service, Brief brief, String mode) throws Exception {
+		long start = System.nanoTime();
+		byte[] pdf = service.generateBriefPdf(brief, Locale.FRENCH);
+		double millis = (System.nanoTime() - start) / 1e6;
+		int pages = pages(pdf);
+		pdf = null;
+		long baseline = liveHeap();
+		long heap = peakHeap(service, brief) - baseline;
+		System.out.printf(Locale.ROOT, "%-10d %6d %-10s %10.0f %12.1f %12.1f%n", brief.getDeliverables().size(), pages, mode,
+				millis, heap / 1048576.0, lastSize / 1024.0);
+		return new long[]{pages, heap};
+	}
+
+	// Pic du tas vivant pendant un rendu : échantillons pris après GC par un thread à part
+	private long peakHeap(PdfService service, Brief brief) throws Exception {
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicLong peak = new AtomicLong();
+		Thread sampler = new Thread(() -> {
+			while (!done.get()) {
+				peak.accumulateAndGet(liveHeap(), Math::max);
+				try {
+					Thread.sleep(20);
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		});
+		sampler.start();
+		try {
+			lastSize = service.generateBriefPdf(brief, Locale.FRENCH).length;
+		} finally {
+			done.set(true);
+			sampler.join();
+		}
+		return peak.get();
+	}
+
+	private long liveHeap() {
+		System.gc();
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+
+	private static int pages(byte[] pdf) throws Exception {
+		try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+			return document.getNumberOfPages();
+		}
+	}
+
+	private static PdfService service(int streamingThreshold) {
+		ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+		messageSource.setBasename("i18n/messages");
+		messageSource.setDefaultEncoding("UTF-8");
+		PdfService service = new PdfService();
+		ReflectionTestUtils.setField(service, "streamingThreshold", streamingThreshold);
+		ReflectionTestUtils.setField(service, "messageSource", messageSource);
+		ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(service, "observationRegistry", ObservationRegistry.NOOP);
+		return service;
+	}
+
+	private static Brief brief(Random random, int deliverables) {
+		return Brief.builder()
+				.title("Refonte du réseau de sites")
+				.description(text(random, 5_000))
+				.objectives(items(random, 40))
+				.deliverables(items(random, deliverables))
+				.targetAudience("Franchisés")
+				.budget("120000")
+				.deadline(LocalDate.of(2027, 6, 1))
+				.constraints(text(random, 255))
+				.client(Client.builder().name("Groupe Martin").email("contact@example.com").build())
+				.clientValidated(false)
+				.build();
+	}
+
+	private static List<String> items(Random random, int count) {
+		List<String> items = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			items.add(text(random, 60 + random.nextInt(120)));
+		}
+		return items;
+	}
+
+	private static String text(Random random, int length) {
+		StringBuilder text = new StringBuilder(length);
+		while (text.length() < length) {
+			text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+		}
+		return text.substring(0, length).trim();
+	}
+}
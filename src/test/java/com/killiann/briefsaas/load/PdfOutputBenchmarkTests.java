@@ -0,0 +1,124 @@
+package com.killiann.briefsaas.load;
+
+import com.killiann.briefsaas.entity.Brief;
+import com.killiann.briefsaas.entity.Client;
+import com.killiann.briefsaas.service.PdfService;
+import com.killiann.briefsaas.service.PdfService.OutputProfile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Export PDF : taille et temps de rendu des profils de sortie sur un corpus de briefs synthétiques
+ * (court, moyen, long), rendus par PdfService comme en production.
+ *
+ * mvn -Pload-test verify -Dtest=PdfOutputBenchmarkTests [-Dbench.iterations=30]
+ */
+@Tag("load")
+class PdfOutputBenchmarkTests {
+
+	private static final String[] WORDS = ("site vitrine refonte charte graphique pages services contact blog "
+			+ "référencement maquettes intégration responsive accessibilité contenu photos vidéo").split(" ");
+
+	// description, objectifs, livrables
+	private static final Map<String, int[]> CORPUS = Map.of(
+			"court", new int[]{300, 3, 2},
+			"moyen", new int[]{2_000, 8, 10},
+			"long", new int[]{4_000, 15, 20}
+	);
+
+	@Test
+	void compareOutputProfiles() throws Exception {
+		int iterations = Integer.getInteger("bench.iterations", 30);
+		Random random = new Random(11);
+		List<String> kinds = List.of("court", "moyen", "long");
+		Map<String, Brief> briefs = new java.util.HashMap<>();
+		kinds.forEach(kind -> briefs.put(kind, brief(random, CORPUS.get(kind))));
+
+		Map<OutputProfile, PdfService> services = new EnumMap<>(OutputProfile.class);
+		for (OutputProfile profile : OutputProfile.values()) {
+			services.put(profile, service(profile));
+		}
+
+		System.out.printf(Locale.ROOT, "%-8s %-10s %10s %10s %10s%n", "brief", "profil", "octets", "p50 ms", "p90 ms");
+		for (String kind : kinds) {
+			Map<OutputProfile, Integer> sizes = new EnumMap<>(OutputProfile.class);
+			for (OutputProfile profile : OutputProfile.values()) {
+				PdfService service = services.get(profile);
+				byte[] pdf = service.generateBriefPdf(briefs.get(kind), Locale.FRENCH);
+				long[] nanos = new long[iterations];
+				for (int i = 0; i < iterations; i++) {
+					long start = System.nanoTime();
+					service.generateBriefPdf(briefs.get(kind), Locale.FRENCH);
+					nanos[i] = System.nanoTime() - start;
+				}
+				Arrays.sort(nanos);
+				sizes.put(profile, pdf.length);
+				System.out.printf(Locale.ROOT, "%-8s %-10s %10d %10.2f %10.2f%n", kind, profile.name().toLowerCase(Locale.ROOT),
+						pdf.length, nanos[iterations / 2] / 1e6, nanos[iterations * 9 / 10] / 1e6);
+				assertTrue(new String(pdf, 0, 5).startsWith("%PDF-"));
+			}
+			assertTrue(sizes.get(OutputProfile.COMPACT) < sizes.get(OutputProfile.STANDARD),
+					kind + ": compact output should be smaller");
+		}
+	}
+
+	private static PdfService service(OutputProfile profile) {
+		ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+		messageSource.setBasename("i18n/messages");
+		messageSource.setDefaultEncoding("UTF-8");
+		PdfService service = new PdfService();
+		ReflectionTestUtils.setField(service, "outputProfile", profile);
+		ReflectionTestUtils.setField(service, "messageSource", messageSource);
+		ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(service, "observationRegistry", ObservationRegistry.NOOP);
+		return service;
+	}
+
+	private static Brief brief(Random random, int[] shape) {
+		return Brief.builder()
+				.title("Refonte du site " + text(random, 20))
+				.description(text(random, shape[0]))
+				.objectives(items(random, shape[1]))
+				.deliverables(items(random, shape[2]))
+				.targetAudience("PME locales")
+				.budget("8000")
+				.deadline(LocalDate.of(2026, 12, 1))
+				.constraints(text(random, 400))
+				.client(Client.builder().name("Atelier Dupont").email("contact@example.com").build())
+				.clientValidated(true)
+				.validatedAt(LocalDateTime.of(2026, 10, 1, 10, 0))
+				.build();
+	}
+
+	private static List<String> items(Random random, int count) {
+		List<String> items = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			items.add(text(random, 40 + random.nextInt(80)));
+		}
+		return items;
+	}
+
+	private static String text(Random random, int length) {
+		StringBuilder text = new StringBuilder(length);
+		while (text.length() < length) {
+			text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+		}
+		return text.substring(0, length).trim();
+	}
+}
@@ -0,0 +1,103 @@
+package com.killiann.briefsaas.service;
+
+import com.killiann.briefsaas.entity.AccountPurge;
+import com.killiann.briefsaas.repository.AccountPurgeRepository;
+import com.killiann.briefsaas.repository.ArchivedBriefRepository;
+import com.killiann.briefsaas.repository.BriefRepository;
+import com.killiann.briefsaas.repository.BriefRevisionRepository;
+import com.killiann.briefsaas.repository.ClientRepository;
+import com.killiann.briefsaas.repository.EmailVerificationTokenRepository;
+import com.killiann.briefsaas.repository.RefreshTokenRepository;
+import com.killiann.briefsaas.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountPurgeServiceTests {
+
+	private AccountPurgeRepository purgeRepository;
+	private BriefRepository briefRepository;
+	private ArchivedBriefRepository archivedBriefRepository;
+	private ClientRepository clientRepository;
+	private UserRepository userRepository;
+	private AccountPurgeService service;
+
+	@BeforeEach
+	void mocks() {
+		purgeRepository = mock(AccountPurgeRepository.class);
+		briefRepository = mock(BriefRepository.class);
+		archivedBriefRepository = mock(ArchivedBriefRepository.class);
+		clientRepository = mock(ClientRepository.class);
+		userRepository = mock(UserRepository.class);
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+		service = new AccountPurgeService(purgeRepository, userRepository, briefRepository, archivedBriefRepository,
+				mock(BriefRevisionRepository.class), clientRepository, mock(EmailVerificationTokenRepository.class),
+				mock(RefreshTokenRepository.class), mock(AttachmentService.class), mock(TokenService.class),
+				transactionManager, 500, 3, Duration.ofMinutes(1));
+	}
+
+	private AccountPurge pending(int attempts) {
+		AccountPurge purge = AccountPurge.builder().id(7L).userId(3L).requestedAt(Instant.now()).attempts(attempts).build();
+		when(purgeRepository.claimNext(any(), eq(3))).thenReturn(Optional.of(purge));
+		return purge;
+	}
+
+	@Test
+	void deletesOneChunkPerTickAndCountsDeletedRows() {
+		AccountPurge purge = pending(0);
+		when(briefRepository.findIdsByOwnerId(eq(3L), any(Limit.class))).thenReturn(List.of(1L, 2L, 3L));
+		// Une ligne supprimée entre-temps par une autre requête n'est pas comptée
+		when(briefRepository.deleteByIdIn(List.of(1L, 2L, 3L))).thenReturn(2);
+
+		service.purgePending();
+
+		assertEquals(2, purge.getBriefsDeleted());
+		assertNull(purge.getCompletedAt());
+		verifyNoInteractions(archivedBriefRepository, clientRepository);
+	}
+
+	@Test
+	void failedChunkIsCountedDelayedAndStoredTruncated() {
+		pending(1);
+		when(briefRepository.findIdsByOwnerId(eq(3L), any(Limit.class)))
+				.thenThrow(new IllegalStateException("could not execute statement [" + "?, ".repeat(2_000) + "]"));
+
+		Instant before = Instant.now();
+		service.purgePending();
+
+		ArgumentCaptor<Instant> retryAt = ArgumentCaptor.forClass(Instant.class);
+		verify(purgeRepository).recordFailedAttempt(eq(7L), retryAt.capture());
+		// Deuxième échec : délai doublé
+		assertFalse(retryAt.getValue().isBefore(before.plus(Duration.ofMinutes(2))));
+
+		ArgumentCaptor<String> error = ArgumentCaptor.forClass(String.class);
+		verify(purgeRepository).recordError(eq(7L), error.capture());
+		assertEquals(AccountPurge.LAST_ERROR_LENGTH, error.getValue().length());
+		assertTrue(error.getValue().startsWith("java.lang.IllegalStateException: could not execute statement"));
+	}
+
+	@Test
+	void attemptIsCountedEvenWhenTheErrorCannotBeStored() {
+		pending(0);
+		when(briefRepository.findIdsByOwnerId(eq(3L), any(Limit.class))).thenThrow(new IllegalStateException("boom"));
+		when(purgeRepository.recordError(anyLong(), anyString())).thenThrow(new IllegalStateException("value too long"));
+
+		assertDoesNotThrow(service::purgePending);
+
+		verify(purgeRepository).recordFailedAttempt(eq(7L), any());
+	}
+}
@@ -0,0 +1,164 @@
+package com.killiann.briefsaas.service;
+
+import com.killiann.briefsaas.dto.BriefRequest;
+import com.killiann.briefsaas.dto.BriefResponse;
+import com.killiann.briefsaas.dto.BriefSummary;
+import com.killiann.briefsaas.entity.Brief;
+import com.killiann.briefsaas.entity.BriefStatus;
+import com.killiann.briefsaas.entity.Client;
+import com.killiann.briefsaas.entity.Role;
+import com.killiann.briefsaas.entity.User;
+import com.killiann.briefsaas.exception.BadRequestException;
+import com.killiann.briefsaas.repository.ArchivedBriefRepository;
+import com.killiann.briefsaas.repository.BriefRepository;
+import com.killiann.briefsaas.repository.ClientRepository;
+import com.killiann.briefsaas.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Archivage et restauration contre la base H2 du profil de charge : un brief archivé reste lisible,
+ * modifiable (il est alors restauré avec le même id et le même lien public) et listé avec les briefs chauds.
+ */
+@ActiveProfiles({"prod", "load"})
+@SpringBootTest
+class BriefArchiveServiceTests {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private BriefRepository briefRepository;
+
+	@Autowired
+	private ArchivedBriefRepository archivedBriefRepository;
+
+	@Autowired
+	private BriefService briefService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private User owner;
+	private Client client;
+
+	@BeforeEach
+	void owner() {
+		String id = UUID.randomUUID().toString();
+		owner = userRepository.save(User.builder()
+				.email("archive-" + id + "@example.com")
+				.password("x")
+				.firstname("Archive")
+				.lastname("Owner")
+				.language("fr")
+				.enabled(true)
+				.subscriptionActive(true)
+				.role(Role.ROLE_USER)
+				.build());
+		client = clientRepository.save(Client.builder().name("Client").email("client-" + id + "@example.com").owner(owner).build());
+	}
+
+	private BriefResponse create(String title) throws Throwable {
+		BriefRequest request = new BriefRequest();
+		request.setTitle(title);
+		request.setDescription("Description ".repeat(50));
+		request.setObjectives(List.of("o1", "o2"));
+		request.setDeliverables(List.of("d"));
+		request.setDeadline(LocalDate.now().plusMonths(1));
+		request.setClientId(client.getId());
+		return briefService.createBrief(request, owner);
+	}
+
+	@Test
+	void archivedBriefStaysReadableAndIsRestoredOnUpdate() throws Throwable {
+		BriefResponse created = create("Archived");
+		Long id = created.getId();
+
+		briefService.updateBriefStatus(id, BriefStatus.ARCHIVED, owner);
+		assertFalse(briefRepository.existsById(id));
+		assertTrue(archivedBriefRepository.existsById(id));
+
+		BriefResponse read = briefService.getBriefById(id, owner);
+		assertEquals(List.of("o1", "o2"), read.getObjectives());
+		assertEquals("Client", read.getClient().getName());
+		assertEquals("Client", briefService.getPublicBrief(created.getPublicUuid()).getClientName());
+
+		BriefRequest update = new BriefRequest();
+		update.setTitle("Restored");
+		update.setObjectives(List.of("x"));
+		update.setClientId(client.getId());
+		BriefResponse updated = briefService.updateBrief(id, update, owner);
+		assertEquals("Restored", updated.getTitle());
+		assertEquals(BriefStatus.DRAFT, updated.getStatus());
+		assertFalse(archivedBriefRepository.existsById(id));
+		Brief restored = briefRepository.findById(id).orElseThrow();
+		assertEquals(created.getPublicUuid(), restored.getPublicUuid());
+		assertEquals(List.of("x"), restored.getObjectives());
+	}
+
+	@Test
+	void deletingArchivedBriefRemovesColdCopy() throws Throwable {
+		Long id = create("Deleted").getId();
+		briefService.updateBriefStatus(id, BriefStatus.ARCHIVED, owner);
+
+		briefService.deleteBrief(id, owner);
+
+		assertFalse(archivedBriefRepository.existsById(id));
+		assertEquals(0, briefService.getUserBriefs(owner, "ALL", 0, 10).getTotalElements());
+	}
+
+	@Test
+	void pagesAcrossTiersInStableOrderWhenCreatedAtTies() throws Throwable {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			ids.add(create("Brief " + i).getId());
+		}
+		briefService.updateBriefStatus(ids.get(1), BriefStatus.ARCHIVED, owner);
+		briefService.updateBriefStatus(ids.get(3), BriefStatus.ARCHIVED, owner);
+		LocalDateTime sameInstant = LocalDateTime.now().withNano(0);
+		jdbcTemplate.update("update briefs set created_at = ? where user_id = ?", sameInstant, owner.getId());
+		jdbcTemplate.update("update briefs_archive set created_at = ? where user_id = ?", sameInstant, owner.getId());
+
+		List<Long> summaries = new ArrayList<>();
+		List<Long> briefs = new ArrayList<>();
+		for (int page = 0; page < 3; page++) {
+			briefService.getUserBriefSummaries(owner, "ALL", page, 2).forEach(s -> summaries.add(s.getId()));
+			briefService.getUserBriefs(owner, "ALL", page, 2).forEach(b -> briefs.add(b.getId()));
+		}
+
+		List<Long> expected = ids.stream().sorted(Comparator.reverseOrder()).toList();
+		assertEquals(expected, summaries);
+		assertEquals(expected, briefs);
+		assertEquals(5, briefService.getUserBriefSummaries(owner, "ALL", 0, 2).getTotalElements());
+		assertEquals(List.of(ids.get(3), ids.get(1)),
+				briefService.getUserBriefSummaries(owner, "ARCHIVED", 0, 10).map(BriefSummary::getId).getContent());
+	}
+
+	@Test
+	void rejectsOversizedOrTooDeepPages() throws Throwable {
+		Long id = create("Archived").getId();
+		briefService.updateBriefStatus(id, BriefStatus.ARCHIVED, owner);
+
+		assertThrows(BadRequestException.class, () -> briefService.getUserBriefs(owner, "ALL", 0, 101));
+		assertThrows(BadRequestException.class, () -> briefService.getUserBriefSummaries(owner, "ALL", -1, 10));
+		assertThrows(BadRequestException.class, () -> briefService.getUserBriefs(owner, "ALL", 20, 100));
+		// Sans brief froid pour ce filtre, la page vient de la seule table chaude et n'est pas bornée en profondeur
+		assertTrue(briefService.getUserBriefs(owner, "DRAFT", 20, 100).isEmpty());
+	}
+}
@@ -0,0 +1,135 @@
+package com.killiann.briefsaas.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.killiann.briefsaas.entity.User;
+import com.killiann.briefsaas.exception.NotFoundException;
+import com.killiann.briefsaas.repository.BriefRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BriefAutosaveServiceTests {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final User owner = User.builder().id(1L).email("owner@example.com").build();
+
+	private BriefService briefService;
+	private BriefRepository briefRepository;
+
+	@BeforeEach
+	void mocks() {
+		briefService = mock(BriefService.class);
+		briefRepository = mock(BriefRepository.class);
+		when(briefRepository.existsInAnyTier(10L, 1L)).thenReturn(true);
+	}
+
+	private BriefAutosaveService service(Duration debounce) {
+		return new BriefAutosaveService(briefService, briefRepository, new SimpleMeterRegistry(), debounce, Duration.ofMinutes(1), Duration.ofSeconds(1), 2);
+	}
+
+	private ObjectNode patch(String json) throws Exception {
+		return (ObjectNode) mapper.readTree(json);
+	}
+
+	@Test
+	void coalescesSuccessiveEditsIntoOneWrite() throws Throwable {
+		BriefAutosaveService service = service(Duration.ofMinutes(1));
+
+		service.submit(10L, patch("{\"title\":\"T\"}"), owner);
+		service.submit(10L, patch("{\"title\":\"Ti\",\"budget\":\"500\"}"), owner);
+		service.submit(10L, patch("{\"title\":\"Title\",\"constraints\":null}"), owner);
+		service.flushDue();
+		verifyNoInteractions(briefService);
+
+		service.flush(10L);
+
+		ArgumentCaptor<ObjectNode> written = ArgumentCaptor.forClass(ObjectNode.class);
+		verify(briefService, times(1)).patchBrief(eq(10L), written.capture(), eq(owner));
+		assertEquals(patch("{\"title\":\"Title\",\"budget\":\"500\",\"constraints\":null}"), written.getValue());
+		assertEquals(0, service.size());
+		// Ownership is checked once per burst
+		verify(briefRepository, times(1)).existsInAnyTier(10L, 1L);
+	}
+
+	@Test
+	void writesAfterDebounceAndOnShutdown() throws Throwable {
+		BriefAutosaveService service = service(Duration.ZERO);
+
+		service.submit(10L, patch("{\"title\":\"A\"}"), owner);
+		service.flushDue();
+		verify(briefService, times(1)).patchBrief(eq(10L), any(), eq(owner));
+
+		service.submit(10L, patch("{\"title\":\"B\"}"), owner);
+		service.flushAll();
+		verify(briefService, times(2)).patchBrief(eq(10L), any(), eq(owner));
+		assertNull(service.flush(10L));
+	}
+
+	@Test
+	void rejectsForeignBriefsAndIgnoresForeignDiscards() throws Throwable {
+		BriefAutosaveService service = service(Duration.ofMinutes(1));
+		User other = User.builder().id(2L).email("other@example.com").build();
+
+		assertThrows(NotFoundException.class, () -> service.submit(10L, patch("{\"title\":\"X\"}"), other));
+
+		service.submit(10L, patch("{\"title\":\"A\"}"), owner);
+		service.discard(10L, other);
+		assertEquals(1, service.size());
+		service.discard(10L, owner);
+		assertEquals(0, service.size());
+	}
+
+	@Test
+	void keepsMergedEditsAfterTransientFailureAndRetriesLater() throws Throwable {
+		BriefAutosaveService service = service(Duration.ZERO);
+		when(briefService.patchBrief(eq(10L), any(), eq(owner)))
+				.thenThrow(new QueryTimeoutException("timeout"))
+				.thenReturn(null);
+
+		service.submit(10L, patch("{\"title\":\"A\",\"budget\":\"500\"}"), owner);
+		service.flushDue();
+		assertEquals(1, service.size());
+
+		// Saisie pendant le délai de nouvelle tentative : fusionnée dans la même entrée, pas réécrite tout de suite
+		service.submit(10L, patch("{\"title\":\"B\"}"), owner);
+		service.flushDue();
+		verify(briefService, times(1)).patchBrief(eq(10L), any(), eq(owner));
+
+		service.flush(10L);
+
+		ArgumentCaptor<ObjectNode> written = ArgumentCaptor.forClass(ObjectNode.class);
+		verify(briefService, times(2)).patchBrief(eq(10L), written.capture(), eq(owner));
+		assertEquals(patch("{\"title\":\"B\",\"budget\":\"500\"}"), written.getValue());
+		assertEquals(0, service.size());
+	}
+
+	@Test
+	void dropsEditsOnPermanentFailureOrAfterMaxRetries() throws Throwable {
+		BriefAutosaveService service = service(Duration.ZERO);
+		when(briefService.patchBrief(eq(10L), any(), eq(owner)))
+				.thenThrow(new IllegalStateException("Le brief a déjà été validé et ne peut plus être modifié."));
+
+		service.submit(10L, patch("{\"title\":\"A\"}"), owner);
+		assertThrows(IllegalStateException.class, () -> service.flush(10L));
+		assertEquals(0, service.size());
+
+		reset(briefService);
+		when(briefService.patchBrief(eq(10L), any(), eq(owner))).thenThrow(new QueryTimeoutException("timeout"));
+		service.submit(10L, patch("{\"title\":\"A\"}"), owner);
+		for (int i = 0; i < 2; i++) {
+			assertThrows(QueryTimeoutException.class, () -> service.flush(10L));
+			assertEquals(1, service.size());
+		}
+		assertThrows(QueryTimeoutException.class, () -> service.flush(10L));
+		assertEquals(0, service.size());
+	}
+}
@@ -0,0 +1,71 @@
+package com.killiann.briefsaas.service;
+
+import com.killiann.briefsaas.exception.ConflictException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalAttachmentStorageTests {
+
+	@TempDir
+	Path root;
+
+	@Test
+	void resumesChunkedUploadAndServesRanges() throws Exception {
+		LocalAttachmentStorage storage = new LocalAttachmentStorage(root);
+		byte[] content = new byte[300_000];
+		new Random(1).nextBytes(content);
+		String upload = UUID.randomUUID().toString();
+
+		assertEquals(100_000, storage.append(upload, 0, new ByteArrayInputStream(content, 0, 100_000), content.length));
+		// Reprise : la taille déposée donne l'offset du morceau suivant
+		long offset = storage.stagedSize(upload);
+		assertEquals(content.length, storage.append(upload, offset,
+				new ByteArrayInputStream(content, (int) offset, content.length - (int) offset), content.length - offset));
+		String sha = storage.commit(upload);
+
+		assertEquals(0, storage.stagedSize(upload));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertEquals(1_000, storage.transferTo(sha, 250_000, 1_000, Channels.newChannel(out)));
+		assertArrayEquals(Arrays.copyOfRange(content, 250_000, 251_000), out.toByteArray());
+	}
+
+	@Test
+	void rejectsChunkAtWrongOffset() throws Exception {
+		LocalAttachmentStorage storage = new LocalAttachmentStorage(root);
+		String upload = UUID.randomUUID().toString();
+		storage.append(upload, 0, new ByteArrayInputStream(new byte[10]), 20);
+
+		assertThrows(ConflictException.class, () -> storage.append(upload, 0, new ByteArrayInputStream(new byte[10]), 20));
+		assertEquals(10, storage.stagedSize(upload));
+	}
+
+	@Test
+	void deduplicatesIdenticalContent() throws Exception {
+		LocalAttachmentStorage storage = new LocalAttachmentStorage(root);
+		byte[] content = "maquette v2".getBytes();
+		String first = UUID.randomUUID().toString();
+		String second = UUID.randomUUID().toString();
+		storage.append(first, 0, new ByteArrayInputStream(content), content.length);
+		storage.append(second, 0, new ByteArrayInputStream(content), content.length);
+
+		String sha = storage.commit(first);
+		assertEquals(sha, storage.commit(second));
+		try (var objects = Files.walk(root.resolve("objects"))) {
+			assertEquals(1, objects.filter(Files::isRegularFile).count());
+		}
+		assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)), sha);
+	}
+}
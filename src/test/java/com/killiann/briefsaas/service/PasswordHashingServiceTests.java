@@ -0,0 +1,70 @@
+package com.killiann.briefsaas.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTests {
+
+	@Test
+	void rehashesWeakerHashesAndRejectsUnusablePassword() {
+		PasswordHashingService service = new PasswordHashingService(new BCryptPasswordEncoder(6), 2, 16, 5000);
+		String weak = new BCryptPasswordEncoder(4).encode("secret");
+
+		assertTrue(service.matches("secret", weak));
+		assertTrue(service.needsRehash(weak));
+		assertFalse(service.needsRehash(service.hash("secret")));
+		assertFalse(service.matches("secret", PasswordHashingService.UNUSABLE_PASSWORD));
+		service.shutdown();
+	}
+
+	@Test
+	void countsShedRequestsWhenQueueIsFull() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return true;
+			}
+		};
+		PasswordHashingService service = new PasswordHashingService(blocking, 1, 1, 10_000);
+		ExecutorService callers = Executors.newFixedThreadPool(2);
+		try {
+			// Un appel occupe le thread, un autre la file : le troisième est rejeté
+			Future<Boolean> running = callers.submit(() -> service.matches("a", "hash"));
+			while (service.getActiveCount() == 0) {
+				Thread.sleep(1);
+			}
+			Future<Boolean> queued = callers.submit(() -> service.matches("b", "hash"));
+			while (service.getQueueSize() == 0) {
+				Thread.sleep(1);
+			}
+
+			ResponseStatusException shed = assertThrows(ResponseStatusException.class, () -> service.matches("c", "hash"));
+			assertEquals(HttpStatus.SERVICE_UNAVAILABLE, shed.getStatusCode());
+			assertEquals(1, service.getRejectedCount());
+
+			release.countDown();
+			assertTrue(running.get());
+			assertTrue(queued.get());
+		} finally {
+			release.countDown();
+			callers.shutdown();
+			service.shutdown();
+		}
+	}
+}
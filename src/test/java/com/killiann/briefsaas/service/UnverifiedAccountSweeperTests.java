@@ -0,0 +1,66 @@
+package com.killiann.briefsaas.service;
+
+import com.killiann.briefsaas.repository.EmailVerificationTokenRepository;
+import com.killiann.briefsaas.repository.RefreshTokenRepository;
+import com.killiann.briefsaas.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UnverifiedAccountSweeperTests {
+
+	private UserRepository userRepository;
+	private EmailVerificationTokenRepository emailTokenRepository;
+	private RefreshTokenRepository refreshTokenRepository;
+	private UnverifiedAccountSweeper sweeper;
+
+	@BeforeEach
+	void mocks() {
+		userRepository = mock(UserRepository.class);
+		emailTokenRepository = mock(EmailVerificationTokenRepository.class);
+		refreshTokenRepository = mock(RefreshTokenRepository.class);
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+		when(emailTokenRepository.findIdsExpiredBefore(any(), any(Limit.class))).thenReturn(List.of());
+
+		sweeper = new UnverifiedAccountSweeper(userRepository, emailTokenRepository, refreshTokenRepository,
+				transactionManager, Duration.ofDays(7), 3);
+	}
+
+	@Test
+	void accountVerifiedAfterSelectionKeepsItsTokens() {
+		when(userRepository.findStaleUnverifiedIds(any(), any(Limit.class)))
+				.thenReturn(List.of(1L, 2L, 3L))
+				.thenReturn(List.of());
+		// 2 vérifié entre la sélection et le verrou
+		when(userRepository.lockUnverified(List.of(1L, 2L, 3L))).thenReturn(List.of(1L, 3L));
+		when(userRepository.deleteUnverifiedByIdIn(List.of(1L, 3L))).thenReturn(2);
+
+		sweeper.sweep();
+
+		verify(emailTokenRepository).deleteByUserIdIn(List.of(1L, 3L));
+		verify(refreshTokenRepository).deleteByUserIdIn(List.of(1L, 3L));
+		verify(userRepository).deleteUnverifiedByIdIn(List.of(1L, 3L));
+		verify(refreshTokenRepository, never()).deleteByUserIdIn(argThat(ids -> ids.contains(2L)));
+	}
+
+	@Test
+	void stopsWhenNoSelectedAccountCanBeLocked() {
+		when(userRepository.findStaleUnverifiedIds(any(), any(Limit.class))).thenReturn(List.of(1L, 2L, 3L));
+		when(userRepository.lockUnverified(anyList())).thenReturn(List.of());
+
+		sweeper.sweep();
+
+		verify(userRepository, times(1)).findStaleUnverifiedIds(any(), any(Limit.class));
+		verifyNoInteractions(refreshTokenRepository);
+		verify(userRepository, never()).deleteUnverifiedByIdIn(anyList());
+	}
+}
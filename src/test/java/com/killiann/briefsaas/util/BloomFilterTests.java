@@ -0,0 +1,50 @@
+package com.killiann.briefsaas.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTests {
+
+	@Test
+	void neverReportsFalseNegatives() {
+		BloomFilter filter = BloomFilter.create(10_000, 0.01);
+		String[] keys = new String[10_000];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = UUID.randomUUID().toString();
+			filter.put(keys[i]);
+		}
+
+		for (String key : keys) {
+			assertTrue(filter.mightContain(key));
+		}
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTarget() {
+		BloomFilter filter = BloomFilter.create(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put(UUID.randomUUID().toString());
+		}
+
+		int falsePositives = 0;
+		int probes = 100_000;
+		for (int i = 0; i < probes; i++) {
+			if (filter.mightContain(UUID.randomUUID().toString())) {
+				falsePositives++;
+			}
+		}
+
+		double rate = (double) falsePositives / probes;
+		assertTrue(rate < 0.02, "false positive rate " + rate);
+	}
+
+	@Test
+	void emptyFilterContainsNothing() {
+		BloomFilter filter = BloomFilter.create(100, 0.01);
+
+		assertFalse(filter.mightContain("anything"));
+	}
+}
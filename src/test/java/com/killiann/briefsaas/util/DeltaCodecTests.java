@@ -0,0 +1,101 @@
+package com.killiann.briefsaas.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeltaCodecTests {
+
+	private static final String TEXT = "Refonte du site vitrine : nouvelle charte graphique, pages services, "
+			.repeat(40);
+
+	@Test
+	void localEditProducesSmallDelta() {
+		byte[] base = TEXT.getBytes(StandardCharsets.UTF_8);
+		byte[] target = new StringBuilder(TEXT).insert(1_200, "Ajout d'un blog. ").toString().getBytes(StandardCharsets.UTF_8);
+
+		byte[] delta = DeltaCodec.encode(base, target);
+
+		assertArrayEquals(target, DeltaCodec.apply(base, delta));
+		assertTrue(delta.length < 64, "delta of " + delta.length + " bytes");
+	}
+
+	@Test
+	void roundTripsEdgeCases() {
+		byte[] text = TEXT.getBytes(StandardCharsets.UTF_8);
+		byte[] empty = new byte[0];
+
+		for (byte[][] pair : new byte[][][]{{empty, empty}, {empty, text}, {text, empty}, {text, text}, {"court".getBytes(), "texte".getBytes()}}) {
+			assertArrayEquals(pair[1], DeltaCodec.apply(pair[0], DeltaCodec.encode(pair[0], pair[1])));
+		}
+	}
+
+	@Test
+	void roundTripsRandomEdits() {
+		Random random = new Random(42);
+		byte[] base = new byte[6_000];
+		random.nextBytes(base);
+		for (int i = 0; i < 200; i++) {
+			byte[] target = mutate(base, random);
+			assertArrayEquals(target, DeltaCodec.apply(base, DeltaCodec.encode(base, target)));
+			base = target;
+		}
+	}
+
+	@Test
+	void rejectsCorruptDelta() {
+		byte[] base = TEXT.getBytes(StandardCharsets.UTF_8);
+		byte[] delta = DeltaCodec.encode(base, base);
+		delta[0] = (byte) (delta[0] + 1);
+
+		assertThrows(IllegalArgumentException.class, () -> DeltaCodec.apply(base, delta));
+		assertThrows(IllegalArgumentException.class, () -> DeltaCodec.inflate(new byte[]{1, 2, 3}));
+	}
+
+	@Test
+	void deflateRoundTrips() {
+		byte[] text = TEXT.getBytes(StandardCharsets.UTF_8);
+		byte[] compressed = DeltaCodec.deflate(text);
+
+		assertTrue(compressed.length < text.length / 10);
+		assertArrayEquals(text, DeltaCodec.inflate(compressed));
+	}
+
+	// Insertion, suppression ou remplacement d'une plage, ou déplacement d'un bloc en fin de document
+	private static byte[] mutate(byte[] base, Random random) {
+		int at = random.nextInt(base.length + 1);
+		int length = Math.min(random.nextInt(200), base.length - at);
+		byte[] inserted = new byte[random.nextInt(100)];
+		random.nextBytes(inserted);
+		byte[] target;
+		switch (random.nextInt(4)) {
+			case 0 -> target = concat(slice(base, 0, at), inserted, slice(base, at, base.length));
+			case 1 -> target = concat(slice(base, 0, at), slice(base, at + length, base.length));
+			case 2 -> target = concat(slice(base, 0, at), inserted, slice(base, at + length, base.length));
+			default -> target = concat(slice(base, 0, at), slice(base, at + length, base.length), slice(base, at, at + length));
+		}
+		return target;
+	}
+
+	private static byte[] slice(byte[] data, int from, int to) {
+		return Arrays.copyOfRange(data, from, to);
+	}
+
+	private static byte[] concat(byte[]... parts) {
+		int total = 0;
+		for (byte[] part : parts) {
+			total += part.length;
+		}
+		byte[] result = new byte[total];
+		int pos = 0;
+		for (byte[] part : parts) {
+			System.arraycopy(part, 0, result, pos, part.length);
+			pos += part.length;
+		}
+		return result;
+	}
+}
@@ -0,0 +1,56 @@
+package com.killiann.briefsaas.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainSuffixMatcherTests {
+
+	@Test
+	void matchesDomainsAndTheirSubdomainsOnly() {
+		DomainSuffixMatcher matcher = DomainSuffixMatcher.build(List.of("mailinator.com", "0815.ru"));
+
+		assertTrue(matcher.matchesEmail("john@mailinator.com"));
+		assertTrue(matcher.matchesEmail("john@x.MAILINATOR.com"));
+		assertTrue(matcher.matchesEmail("john@a.b.0815.ru"));
+		assertFalse(matcher.matchesEmail("john@notmailinator.com"));
+		assertFalse(matcher.matchesEmail("john@mailinator.com.evil.org"));
+		assertFalse(matcher.matchesEmail("john@gmail.com"));
+	}
+
+	@Test
+	void binaryFormatRoundTrips() throws Exception {
+		DomainSuffixMatcher matcher = loadBundledList();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		matcher.writeTo(out);
+
+		DomainSuffixMatcher reloaded = DomainSuffixMatcher.load(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(matcher.size(), reloaded.size());
+		assertTrue(reloaded.matchesEmail("someone@sub.0-mail.com"));
+		assertFalse(reloaded.matchesEmail("someone@gmail.com"));
+	}
+
+	@Test
+	void bundledListClassifiesMixedLookups() throws Exception {
+		DomainSuffixMatcher matcher = loadBundledList();
+		String[] emails = {"a@gmail.com", "b@x.mailinator.com", "c@company.example.org", "d@0815.ru"};
+		int hits = 0;
+		for (int i = 0; i < 1_000; i++) {
+			if (matcher.matchesEmail(emails[i & 3])) {
+				hits++;
+			}
+		}
+		assertEquals(500, hits);
+	}
+
+	private DomainSuffixMatcher loadBundledList() throws Exception {
+		try (InputStream is = getClass().getClassLoader().getResourceAsStream("disposable_domains.txt")) {
+			return DomainSuffixMatcher.load(is);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.killiann.briefsaas.util;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Jetons de vérification d'email signés : aller-retour, expiration, et séparation
+ * stricte avec les jetons d'accès.
+ */
+class JwtUtilTests {
+
+	private static final String SECRET = "test-secret-test-secret-test-secret-test";
+
+	private JwtUtil jwtUtil(Duration ttl) {
+		JwtUtil jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "secretKeyEnv", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "accessTtl", Duration.ofMinutes(15));
+		ReflectionTestUtils.setField(jwtUtil, "emailVerificationTtl", ttl);
+		jwtUtil.init();
+		return jwtUtil;
+	}
+
+	@Test
+	void emailVerificationTokenRoundTrip() {
+		JwtUtil jwtUtil = jwtUtil(Duration.ofHours(24));
+
+		JwtUtil.EmailVerificationClaims claims = jwtUtil.parseEmailVerificationToken(
+				jwtUtil.generateEmailVerificationToken(42L, "someone@example.com"));
+
+		assertEquals(42L, claims.userId());
+		assertEquals("someone@example.com", claims.email());
+	}
+
+	@Test
+	void expiredEmailVerificationTokenIsRejected() {
+		JwtUtil jwtUtil = jwtUtil(Duration.ofSeconds(-1));
+
+		String token = jwtUtil.generateEmailVerificationToken(42L, "someone@example.com");
+
+		assertThrows(ExpiredJwtException.class, () -> jwtUtil.parseEmailVerificationToken(token));
+	}
+
+	@Test
+	void verificationAndAccessTokensAreNotInterchangeable() {
+		JwtUtil jwtUtil = jwtUtil(Duration.ofHours(24));
+
+		assertNull(jwtUtil.parseAccessToken(jwtUtil.generateEmailVerificationToken(42L, "someone@example.com")));
+		assertThrows(JwtException.class,
+				() -> jwtUtil.parseEmailVerificationToken(jwtUtil.generateAccessToken("someone@example.com", "session")));
+	}
+
+	@Test
+	void accessTokenCarriesItsSession() {
+		JwtUtil jwtUtil = jwtUtil(Duration.ofHours(24));
+
+		JwtUtil.AccessClaims claims = jwtUtil.parseAccessToken(jwtUtil.generateAccessToken("someone@example.com", "session-1"));
+
+		assertEquals("someone@example.com", claims.email());
+		assertEquals("session-1", claims.sessionId());
+		assertNull(jwtUtil.parseAccessToken("not-a-jwt"));
+	}
+}
@@ -0,0 +1,55 @@
+package com.killiann.briefsaas.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedTokenBucketRateLimiterTests {
+
+	@Test
+	void allowsBurstUpToCapacityThenAsksToRetry() {
+		StripedTokenBucketRateLimiter limiter = new StripedTokenBucketRateLimiter(4, 100);
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, limiter.tryAcquire("ip:1", 5, Duration.ofMinutes(1)));
+		}
+		long retryAfter = limiter.tryAcquire("ip:1", 5, Duration.ofMinutes(1));
+		assertTrue(retryAfter > 0 && retryAfter <= 12_000);
+
+		assertEquals(0, limiter.tryAcquire("ip:2", 5, Duration.ofMinutes(1)));
+	}
+
+	@Test
+	void keepsBucketCountBounded() {
+		StripedTokenBucketRateLimiter limiter = new StripedTokenBucketRateLimiter(4, 100);
+
+		for (int i = 0; i < 10_000; i++) {
+			limiter.tryAcquire("ip:" + i, 5, Duration.ofMinutes(1));
+		}
+		assertTrue(limiter.size() <= 100);
+	}
+
+	@Test
+	void floodOfNewKeysIsNeverRefusedAndEvictsLeastRecentlyUsedBuckets() {
+		StripedTokenBucketRateLimiter limiter = new StripedTokenBucketRateLimiter(1, 10);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, limiter.tryAcquire("validate-brief:1", 3, Duration.ofHours(1)));
+		}
+
+		for (int i = 0; i < 1_000; i++) {
+			assertEquals(0, limiter.tryAcquire("validate:" + i, 3, Duration.ofHours(1)));
+			// Une clé qui reste sollicitée n'est jamais la moins récemment utilisée
+			if (i % 5 == 0) {
+				assertTrue(limiter.tryAcquire("validate-brief:1", 3, Duration.ofHours(1)) > 0);
+			}
+		}
+		assertTrue(limiter.size() <= 10);
+
+		// Les plus anciennes clés du flood ont été évincées
+		assertEquals(0, limiter.tryAcquire("validate:0", 3, Duration.ofHours(1)));
+		assertEquals(0, limiter.tryAcquire("validate:0", 3, Duration.ofHours(1)));
+		assertEquals(0, limiter.tryAcquire("validate:0", 3, Duration.ofHours(1)));
+	}
+}